@@ -0,0 +1,111 @@
+package com.alumniconnect.portal.benchmark;
+
+import com.alumniconnect.portal.AlumniConnectPortalApplication;
+import com.alumniconnect.portal.seed.BulkDataLoader;
+import com.alumniconnect.portal.seed.SyntheticDataGenerator;
+import com.alumniconnect.portal.service.ConversationService;
+import com.alumniconnect.portal.service.MentorLoadIndex;
+import com.alumniconnect.portal.service.MentorRecommendationEngine;
+import com.alumniconnect.portal.service.NameSearchIndex;
+import com.alumniconnect.portal.service.UnreadCounterStore;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Boots the application context (without the web layer) against a private
+ * in-memory H2 database and seeds it through BulkDataLoader with a synthetic
+ * dataset of N users, M mentorships and K chats.
+ */
+public class BenchmarkDatabase implements AutoCloseable {
+
+    private static final long SEED = 42;
+
+    private final ConfigurableApplicationContext context;
+    private final SessionFactory sessionFactory;
+    private SyntheticDataGenerator generator;
+
+    private BenchmarkDatabase(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+    }
+
+    public static BenchmarkDatabase start(int users, int mentorships, long chats, String... extraProperties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AlumniConnectPortalApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(extraProperties)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "chat.search.index-dir=" + System.getProperty("java.io.tmpdir") + "/bench-chat-index-" + UUID.randomUUID(),
+                "chat.archive.dir=" + System.getProperty("java.io.tmpdir") + "/bench-chat-archive-" + UUID.randomUUID(),
+                "chat.archive.enabled=false",
+                "attachments.local.dir=" + System.getProperty("java.io.tmpdir") + "/bench-attachments-" + UUID.randomUUID(),
+                "attachments.thumbnails.dir=" + System.getProperty("java.io.tmpdir") + "/bench-thumbnails-" + UUID.randomUUID(),
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                // Keep the scheduled snapshot refresh out of the measurements
+                "analytics.snapshot.initial-delay-ms=86400000")
+            .run();
+
+        BenchmarkDatabase database = new BenchmarkDatabase(context);
+        Map<String, Object> report = database.bean(BulkDataLoader.class).load(users, mentorships, chats, 0,
+            1000, Runtime.getRuntime().availableProcessors(), SEED);
+        database.generator = new SyntheticDataGenerator(SEED, users, mentorships,
+            (Long) report.get("firstUserId"), (Long) report.get("firstMentorshipId"), LocalDateTime.now());
+
+        // In-memory indexes were built at startup, before the seed rows existed
+        database.bean(MentorLoadIndex.class).rebuild();
+        database.bean(UnreadCounterStore.class).rebuild();
+        database.bean(ConversationService.class).rebuild();
+        database.bean(NameSearchIndex.class).rebuild();
+        database.bean(MentorRecommendationEngine.class).rebuild();
+        return database;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long statementCount() {
+        return sessionFactory.getStatistics().getPrepareStatementCount();
+    }
+
+    public String randomUserEmail(SplittableRandom random) {
+        return generator.email(random.nextInt(generator.getUsers()));
+    }
+
+    public String password() {
+        return generator.password(0);
+    }
+
+    // A seeded user's first name and the start of their last name, as typed into a search box
+    public String randomNameQuery(SplittableRandom random) {
+        int index = random.nextInt(generator.getUsers());
+        String lastName = generator.lastName(index);
+        return generator.firstName(index) + " " + lastName.substring(0, Math.min(3, lastName.length()));
+    }
+
+    public int randomMentorshipIndex(SplittableRandom random) {
+        return random.nextInt(generator.getMentorships());
+    }
+
+    public long mentorshipId(int index) { return generator.mentorshipId(index); }
+
+    public long mentorId(int index) { return generator.mentorId(index); }
+
+    public long menteeId(int index) { return generator.menteeId(index); }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
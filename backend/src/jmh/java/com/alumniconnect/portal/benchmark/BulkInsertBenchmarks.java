@@ -0,0 +1,103 @@
+package com.alumniconnect.portal.benchmark;
+
+import com.alumniconnect.portal.entity.Chat;
+import com.alumniconnect.portal.entity.Meeting;
+import com.alumniconnect.portal.entity.Mentorship;
+import com.alumniconnect.portal.entity.User;
+import com.alumniconnect.portal.repository.ChatRepository;
+import com.alumniconnect.portal.repository.MeetingRepository;
+import com.alumniconnect.portal.repository.MentorshipRepository;
+import com.alumniconnect.portal.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for bulk chat and meeting inserts through JPA.
+ * jdbcBatchSize=1 is the unbatched baseline; the default configuration uses 50.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmarks {
+
+    private static final int ROWS_PER_TRANSACTION = 500;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    private BenchmarkDatabase database;
+    private TransactionTemplate transactionTemplate;
+    private ChatRepository chatRepository;
+    private MeetingRepository meetingRepository;
+    private MentorshipRepository mentorshipRepository;
+    private UserRepository userRepository;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start(2000, 4000, 0,
+            "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+        transactionTemplate = new TransactionTemplate(database.bean(PlatformTransactionManager.class));
+        chatRepository = database.bean(ChatRepository.class);
+        meetingRepository = database.bean(MeetingRepository.class);
+        mentorshipRepository = database.bean(MentorshipRepository.class);
+        userRepository = database.bean(UserRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public Object insertChats() {
+        return transactionTemplate.execute(status -> {
+            List<Chat> chats = new ArrayList<>(ROWS_PER_TRANSACTION);
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                int index = database.randomMentorshipIndex(random);
+                Chat chat = new Chat();
+                chat.setMentorship(mentorshipRepository.getReferenceById(database.mentorshipId(index)));
+                chat.setSender(userRepository.getReferenceById(database.mentorId(index)));
+                chat.setContent("Bulk message " + i);
+                chats.add(chat);
+            }
+            return chatRepository.saveAll(chats);
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public Object insertMeetings() {
+        return transactionTemplate.execute(status -> {
+            List<Meeting> meetings = new ArrayList<>(ROWS_PER_TRANSACTION);
+            LocalDateTime scheduledDate = LocalDateTime.now().plusDays(1);
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                int index = database.randomMentorshipIndex(random);
+                Mentorship mentorship = mentorshipRepository.getReferenceById(database.mentorshipId(index));
+                User organizer = userRepository.getReferenceById(database.mentorId(index));
+                User participant = userRepository.getReferenceById(database.menteeId(index));
+                Meeting meeting = new Meeting();
+                meeting.setMentorship(mentorship);
+                meeting.setOrganizer(organizer);
+                meeting.setParticipant(participant);
+                meeting.setTitle("Bulk meeting " + i);
+                meeting.setScheduledDate(scheduledDate);
+                meeting.setDuration(30);
+                meeting.setReminderTime(scheduledDate.minusMinutes(30));
+                meetings.add(meeting);
+            }
+            return meetingRepository.saveAll(meetings);
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package com.alumniconnect.portal.benchmark;
+
+import com.alumniconnect.portal.service.AdminAnalyticsService;
+import com.alumniconnect.portal.service.ChatService;
+import com.alumniconnect.portal.service.MeetingService;
+import com.alumniconnect.portal.service.MentorshipService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Statement-count assertions for the entity fetch plans.
+ *
+ * Each use case runs and is serialized to JSON inside one session, the way an
+ * open-in-view request would, and fails the benchmark if it needs more SQL
+ * statements than its fetch plan allows. Budgets don't depend on row counts,
+ * so a lazy association that starts loading per row breaks the run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class FetchPlanBenchmarks {
+
+    @Param("1000")
+    public int users;
+
+    @Param("3000")
+    public int mentorships;
+
+    @Param("30000")
+    public int chats;
+
+    private BenchmarkDatabase database;
+    private TransactionTemplate readOnly;
+    private ObjectMapper objectMapper;
+    private ChatService chatService;
+    private MeetingService meetingService;
+    private MentorshipService mentorshipService;
+    private AdminAnalyticsService analyticsService;
+    private final SplittableRandom random = new SplittableRandom(11);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start(users, mentorships, chats);
+        readOnly = new TransactionTemplate(database.bean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        objectMapper = database.bean(ObjectMapper.class);
+        chatService = database.bean(ChatService.class);
+        meetingService = database.bean(MeetingService.class);
+        mentorshipService = database.bean(MentorshipService.class);
+        analyticsService = database.bean(AdminAnalyticsService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    // Chats with their sender, then the one shared mentorship and a participant who never wrote
+    @Benchmark
+    public byte[] chatHistory() {
+        long mentorshipId = database.mentorshipId(database.randomMentorshipIndex(random));
+        return withinBudget("chat history", 3, () -> chatService.getChatHistory(mentorshipId));
+    }
+
+    @Benchmark
+    public byte[] userMeetings() {
+        long userId = database.mentorId(database.randomMentorshipIndex(random));
+        return withinBudget("user meetings", 1, () -> meetingService.getUserMeetings(userId));
+    }
+
+    @Benchmark
+    public byte[] userMentorships() {
+        long userId = database.menteeId(database.randomMentorshipIndex(random));
+        return withinBudget("user mentorships", 1, () -> mentorshipService.getUserMentorships(userId));
+    }
+
+    // Pending requests with mentees, plus the suggested mentors' rows
+    @Benchmark
+    public byte[] automaticLoadBalancing() {
+        return withinBudget("automatic load balancing", 2, analyticsService::performAutomaticMentorLoadBalancing);
+    }
+
+    private byte[] withinBudget(String useCase, int budget, Supplier<Object> call) {
+        return readOnly.execute(status -> {
+            long before = database.statementCount();
+            byte[] json;
+            try {
+                json = objectMapper.writeValueAsBytes(call.get());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(useCase + " could not be serialized", e);
+            }
+            long used = database.statementCount() - before;
+            if (used > budget) {
+                throw new IllegalStateException(useCase + " issued " + used + " SQL statements, fetch plan allows " + budget);
+            }
+            return json;
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.alumniconnect.portal.benchmark;
+
+import com.alumniconnect.portal.service.AdminAnalyticsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports SQL statements per call for the mentor load-balancing paths.
+ * The statements/op figure must stay flat as the mentor count grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MentorLoadQueryCountBenchmark {
+
+    // Every fourth seeded user is an alumnus, so this is roughly mentors x 4 users
+    @Param({"250", "2500", "10000"})
+    public int mentors;
+
+    private BenchmarkDatabase database;
+    private AdminAnalyticsService analyticsService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StatementCounter {
+        public long statements;
+        public long calls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            calls = 0;
+        }
+
+        public double statementsPerCall() {
+            return calls == 0 ? 0 : (double) statements / calls;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start(mentors * 4, mentors * 2, 0);
+        analyticsService = database.bean(AdminAnalyticsService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object mentorLoadBalancingData(StatementCounter counter) {
+        long before = database.statementCount();
+        Object result = analyticsService.getMentorLoadBalancingData();
+        counter.statements += database.statementCount() - before;
+        counter.calls++;
+        return result;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object automaticMentorLoadBalancing(StatementCounter counter) {
+        long before = database.statementCount();
+        Object result = analyticsService.performAutomaticMentorLoadBalancing();
+        counter.statements += database.statementCount() - before;
+        counter.calls++;
+        return result;
+    }
+}
@@ -0,0 +1,120 @@
+package com.alumniconnect.portal.benchmark;
+
+import com.alumniconnect.portal.entity.Chat;
+import com.alumniconnect.portal.entity.Meeting;
+import com.alumniconnect.portal.service.AdminAnalyticsService;
+import com.alumniconnect.portal.service.ChatService;
+import com.alumniconnect.portal.service.MeetingService;
+import com.alumniconnect.portal.service.MentorRecommendationEngine;
+import com.alumniconnect.portal.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles for the hot service methods.
+ * Run with -prof gc (the profile default) to get allocation rates.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmarks {
+
+    @Param("2000")
+    public int users;
+
+    @Param("4000")
+    public int mentorships;
+
+    @Param("20000")
+    public int chats;
+
+    private BenchmarkDatabase database;
+    private AdminAnalyticsService analyticsService;
+    private ChatService chatService;
+    private MeetingService meetingService;
+    private UserService userService;
+    private MentorRecommendationEngine recommendationEngine;
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start(users, mentorships, chats);
+        analyticsService = database.bean(AdminAnalyticsService.class);
+        chatService = database.bean(ChatService.class);
+        meetingService = database.bean(MeetingService.class);
+        userService = database.bean(UserService.class);
+        recommendationEngine = database.bean(MentorRecommendationEngine.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Object continuityMetrics() {
+        return analyticsService.getMentorshipContinuityMetrics();
+    }
+
+    @Benchmark
+    public Object effectivenessMetrics() {
+        return analyticsService.getMentorshipEffectivenessMetrics();
+    }
+
+    @Benchmark
+    public Object riskAnalysis() {
+        return analyticsService.getPredictiveRiskAnalysis();
+    }
+
+    @Benchmark
+    public Object mentorLoadBalancingData() {
+        return analyticsService.getMentorLoadBalancingData();
+    }
+
+    @Benchmark
+    public Object programInsights() {
+        return analyticsService.getProgramLevelInsights();
+    }
+
+    @Benchmark
+    public Object sendMessage(ThreadRandom state) {
+        int index = database.randomMentorshipIndex(state.random);
+        long senderId = state.random.nextBoolean() ? database.mentorId(index) : database.menteeId(index);
+        return chatService.sendMessage(database.mentorshipId(index), senderId,
+            "Benchmark message", Chat.MessageType.TEXT);
+    }
+
+    @Benchmark
+    public Object scheduleMeeting(ThreadRandom state) {
+        int index = database.randomMentorshipIndex(state.random);
+        return meetingService.scheduleMeeting(database.mentorshipId(index), database.mentorId(index),
+            database.menteeId(index), "Benchmark meeting", "Weekly check-in",
+            LocalDateTime.now().plusDays(1 + state.random.nextInt(30)), 30, Meeting.MeetingType.VIDEO);
+    }
+
+    @Benchmark
+    public Object searchByName(ThreadRandom state) {
+        return userService.searchByName(database.randomNameQuery(state.random), null, 10);
+    }
+
+    @Benchmark
+    public Object recommendMentors(ThreadRandom state) {
+        int index = database.randomMentorshipIndex(state.random);
+        return recommendationEngine.recommend(database.menteeId(index), 5);
+    }
+
+    @Benchmark
+    public Object authenticateUser(ThreadRandom state) {
+        return userService.authenticateUser(database.randomUserEmail(state.random), database.password());
+    }
+}
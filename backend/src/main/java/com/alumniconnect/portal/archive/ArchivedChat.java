@@ -0,0 +1,48 @@
+package com.alumniconnect.portal.archive;
+
+import com.alumniconnect.portal.entity.Chat;
+
+import java.time.LocalDateTime;
+
+/**
+ * A chat message as stored in a segment file: the Chat columns, with the
+ * sender reduced to its id.
+ */
+public class ArchivedChat {
+    private final Long id;
+    private final Long senderId;
+    private final String content;
+    private final Chat.MessageType messageType;
+    private final String fileUrl;
+    private final Boolean isRead;
+    private final LocalDateTime createdAt;
+
+    public ArchivedChat(Long id, Long senderId, String content, Chat.MessageType messageType,
+                        String fileUrl, Boolean isRead, LocalDateTime createdAt) {
+        this.id = id;
+        this.senderId = senderId;
+        this.content = content;
+        this.messageType = messageType;
+        this.fileUrl = fileUrl;
+        this.isRead = isRead;
+        this.createdAt = createdAt;
+    }
+
+    public static ArchivedChat of(Chat chat) {
+        return new ArchivedChat(chat.getId(), chat.getSender().getId(), chat.getContent(), chat.getMessageType(),
+            chat.getFileUrl(), chat.getIsRead(), chat.getCreatedAt());
+    }
+
+    // The same message marked read, as it is archived
+    public ArchivedChat settled() {
+        return new ArchivedChat(id, senderId, content, messageType, fileUrl, true, createdAt);
+    }
+
+    public Long getId() { return id; }
+    public Long getSenderId() { return senderId; }
+    public String getContent() { return content; }
+    public Chat.MessageType getMessageType() { return messageType; }
+    public String getFileUrl() { return fileUrl; }
+    public Boolean getIsRead() { return isRead; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,153 @@
+package com.alumniconnect.portal.archive;
+
+import com.alumniconnect.portal.entity.Chat;
+import com.alumniconnect.portal.entity.Mentorship;
+import com.alumniconnect.portal.repository.ChatRepository;
+import com.alumniconnect.portal.repository.MentorshipRepository;
+import com.alumniconnect.portal.service.UnreadCounterStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Moves old messages of finished mentorships out of the chats table into
+ * ChatSegmentStore.
+ *
+ * Per mentorship the messages are first appended to its segment file and
+ * forced to disk, and only then deleted from the table. A crash in between
+ * leaves a message in both tiers: readers deduplicate by id, and the next
+ * run skips ids the segment already holds.
+ *
+ * Archived messages are settled as read: the archive cannot be marked read,
+ * so unread ones are flipped in the delete transaction and taken off
+ * UnreadCounterStore once it commits.
+ */
+@Service
+public class ChatArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatArchiver.class);
+
+    private static final List<Mentorship.Status> ARCHIVABLE_STATUSES =
+        List.of(Mentorship.Status.COMPLETED, Mentorship.Status.CANCELLED);
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private MentorshipRepository mentorshipRepository;
+
+    @Autowired
+    private ChatSegmentStore segmentStore;
+
+    @Autowired
+    private UnreadCounterStore unreadCounters;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${chat.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chat.archive.min-age-days:180}")
+    private int minAgeDays;
+
+    @Value("${chat.archive.mentorships-per-run:500}")
+    private int mentorshipsPerRun;
+
+    @Scheduled(initialDelayString = "${chat.archive.initial-delay-ms:600000}",
+               fixedDelayString = "${chat.archive.interval-ms:3600000}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    public synchronized Map<String, Object> archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        
+        List<Long> mentorshipIds = chatRepository.findArchivableMentorshipIds(
+            ARCHIVABLE_STATUSES, cutoff, PageRequest.of(0, mentorshipsPerRun));
+        
+        int archivedMessages = 0;
+        int archivedMentorships = 0;
+        for (Long mentorshipId : mentorshipIds) {
+            try {
+                int archived = archiveMentorship(mentorshipId, cutoff, transaction);
+                archivedMessages += archived;
+                if (archived > 0) archivedMentorships++;
+            } catch (IOException | RuntimeException e) {
+                // Nothing was deleted for this mentorship; it is retried on the next run
+                log.warn("Failed to archive chats of mentorship {}", mentorshipId, e);
+            }
+        }
+        if (archivedMessages > 0) {
+            log.info("Archived {} chat messages from {} mentorships", archivedMessages, archivedMentorships);
+        }
+        
+        Map<String, Object> report = new HashMap<>();
+        report.put("cutoff", cutoff);
+        report.put("mentorshipsScanned", mentorshipIds.size());
+        report.put("mentorshipsArchived", archivedMentorships);
+        report.put("messagesArchived", archivedMessages);
+        report.put("hasMore", mentorshipIds.size() == mentorshipsPerRun);
+        return report;
+    }
+
+    private int archiveMentorship(Long mentorshipId, LocalDateTime cutoff, TransactionTemplate transaction) throws IOException {
+        List<ArchivedChat> chats = transaction.execute(status -> {
+            List<ArchivedChat> rows = new ArrayList<>();
+            for (Chat chat : chatRepository.findArchivable(mentorshipId, cutoff)) {
+                rows.add(ArchivedChat.of(chat).settled());
+            }
+            return rows;
+        });
+        if (chats.isEmpty()) return 0;
+        
+        // Rows that survived an earlier crash between append and delete are already archived
+        Set<Long> alreadyArchived = new HashSet<>();
+        for (ArchivedChat archived : segmentStore.read(mentorshipId)) {
+            alreadyArchived.add(archived.getId());
+        }
+        List<ArchivedChat> toAppend = new ArrayList<>(chats.size());
+        List<Long> ids = new ArrayList<>(chats.size());
+        for (ArchivedChat chat : chats) {
+            if (!alreadyArchived.contains(chat.getId())) toAppend.add(chat);
+            ids.add(chat.getId());
+        }
+        
+        segmentStore.append(mentorshipId, toAppend);
+        
+        MentorshipRepository.Participants participants = mentorshipRepository.findParticipants(mentorshipId)
+            .orElseThrow(() -> new RuntimeException("Mentorship not found"));
+        unreadCounters.whileNotRebuilding(() -> {
+            // Sender -> messages this transaction marked read, i.e. unread for the other participant
+            Map<Long, Integer> settled = transaction.execute(status -> {
+                Map<Long, Integer> flipped = new HashMap<>();
+                for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size()));
+                    for (Long senderId : List.of(participants.getMentorId(), participants.getMenteeId())) {
+                        flipped.merge(senderId, chatRepository.markReadByIdInAndSenderId(chunk, senderId), Integer::sum);
+                    }
+                    chatRepository.deleteAllByIdInBatch(chunk);
+                }
+                return flipped;
+            });
+            settled.forEach((senderId, count) ->
+                unreadCounters.decrement(participants.counterpartOf(senderId), mentorshipId, count));
+            return settled;
+        });
+        return chats.size();
+    }
+}
@@ -0,0 +1,443 @@
+package com.alumniconnect.portal.archive;
+
+import com.alumniconnect.portal.entity.Chat;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only segment files holding archived chat messages, one file per
+ * mentorship.
+ *
+ * Each archive run appends one block: a fixed header followed by the deflated
+ * records. The header carries the block's id range and its first and last
+ * (createdAt, id) keys, so page and cursor reads pick the blocks they need
+ * from the headers alone and inflate only those, straight from the mapping.
+ * Headers and payloads carry separate CRC32s. A torn block at the tail, left
+ * by a crash during append, is skipped by readers and truncated away by the
+ * next append. Appends remember where each segment's intact prefix ends, so
+ * only the first append to a segment after startup scans it.
+ */
+@Component
+public class ChatSegmentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatSegmentStore.class);
+
+    private static final int MAGIC = 0x43484132; // "CHA2"
+    // magic, count, raw length, compressed length, min/max id, first/last key, payload CRC, header CRC
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 4 + 8 + 8 + KeyCodec.BYTES * 2 + 8 + 8;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("mentorship-(\\d+)\\.seg");
+
+    @Value("${chat.archive.dir:data/chat-archive}")
+    private String archiveDir;
+
+    private Path root;
+    private final Set<Long> archivedMentorships = ConcurrentHashMap.newKeySet();
+    // Mentorship -> end of its last intact block, as of our last append; guarded by the store's lock
+    private final Map<Long, Long> validEnds = new HashMap<>();
+
+    @PostConstruct
+    public void open() throws IOException {
+        root = Paths.get(archiveDir);
+        Files.createDirectories(root);
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(root, "mentorship-*.seg")) {
+            for (Path segment : segments) {
+                Matcher matcher = SEGMENT_NAME.matcher(segment.getFileName().toString());
+                if (matcher.matches()) {
+                    archivedMentorships.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+    }
+
+    // Lets the hot read path skip the archive for the many mentorships that have none
+    public boolean hasArchive(Long mentorshipId) {
+        return archivedMentorships.contains(mentorshipId);
+    }
+
+    public Set<Long> getArchivedMentorshipIds() {
+        return Set.copyOf(archivedMentorships);
+    }
+
+    // Appends one block and forces it to disk before returning, so the rows can then be deleted
+    public synchronized void append(Long mentorshipId, List<ArchivedChat> chats) throws IOException {
+        if (chats.isEmpty()) return;
+
+        byte[] raw = encode(chats);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + 64);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+        } finally {
+            deflater.end();
+        }
+        byte[] payload = compressed.toByteArray();
+        CRC32 payloadCrc = new CRC32();
+        payloadCrc.update(payload);
+
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        ArchivedChat first = chats.get(0);
+        ArchivedChat last = chats.get(0);
+        for (ArchivedChat chat : chats) {
+            minId = Math.min(minId, chat.getId());
+            maxId = Math.max(maxId, chat.getId());
+            if (KeyCodec.compare(chat, first) < 0) first = chat;
+            if (KeyCodec.compare(chat, last) > 0) last = chat;
+        }
+
+        ByteBuffer block = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        block.putInt(MAGIC).putInt(chats.size()).putInt(raw.length).putInt(payload.length);
+        block.putLong(minId).putLong(maxId);
+        KeyCodec.put(block, first.getCreatedAt(), first.getId());
+        KeyCodec.put(block, last.getCreatedAt(), last.getId());
+        block.putLong(payloadCrc.getValue());
+        CRC32 headerCrc = new CRC32();
+        headerCrc.update(block.array(), 0, block.position());
+        block.putLong(headerCrc.getValue());
+        block.put(payload).flip();
+
+        Path path = segmentPath(mentorshipId);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Anything after the last intact block is a torn earlier append; appending after it
+            // would make every later block unreachable. A remembered end past the file's size means
+            // the file changed underneath us, so it is scanned again.
+            Long known = validEnds.remove(mentorshipId);
+            long end = known != null && known <= channel.size() ? known : validLength(channel);
+            if (end < channel.size()) {
+                log.warn("Truncating {} torn bytes at the end of {}", channel.size() - end, path);
+                channel.truncate(end);
+            }
+            long position = end;
+            while (block.hasRemaining()) {
+                position += channel.write(block, position);
+            }
+            channel.force(true);
+            validEnds.put(mentorshipId, position);
+        }
+        archivedMentorships.add(mentorshipId);
+    }
+
+    public List<ArchivedChat> read(Long mentorshipId) {
+        List<ArchivedChat> chats = new ArrayList<>();
+        withBlocks(mentorshipId, blocks -> {
+            for (Block block : blocks) {
+                if (!block.inflate(chats)) break;
+            }
+        });
+        return chats;
+    }
+
+    /**
+     * The first limit archived messages strictly after (forward) or before the
+     * cursor in (createdAt, id) order, or the latest ones without a cursor,
+     * in paging order. Blocks that cannot reach the window are not inflated.
+     */
+    public List<ArchivedChat> readPage(Long mentorshipId, LocalDateTime cursorAt, Long cursorId,
+                                       boolean forward, int limit) {
+        Comparator<ArchivedChat> order = forward ? KeyCodec.ORDER : KeyCodec.ORDER.reversed();
+        List<ArchivedChat> page = new ArrayList<>();
+        withBlocks(mentorshipId, blocks -> {
+            // Candidate blocks, nearest to the cursor first
+            List<Block> candidates = new ArrayList<>();
+            for (Block block : blocks) {
+                if (cursorId == null || (forward
+                        ? KeyCodec.compare(block.lastAt, block.lastId, cursorAt, cursorId) > 0
+                        : KeyCodec.compare(block.firstAt, block.firstId, cursorAt, cursorId) < 0)) {
+                    candidates.add(block);
+                }
+            }
+            candidates.sort(forward
+                ? (a, b) -> KeyCodec.compare(a.firstAt, a.firstId, b.firstAt, b.firstId)
+                : (a, b) -> KeyCodec.compare(b.lastAt, b.lastId, a.lastAt, a.lastId));
+
+            PriorityQueue<ArchivedChat> best = new PriorityQueue<>(order.reversed());
+            List<ArchivedChat> decoded = new ArrayList<>();
+            for (Block block : candidates) {
+                if (best.size() == limit) {
+                    // Every remaining block starts beyond the worst row kept
+                    ArchivedChat worst = best.peek();
+                    int distance = forward
+                        ? KeyCodec.compare(block.firstAt, block.firstId, worst.getCreatedAt(), worst.getId())
+                        : KeyCodec.compare(worst.getCreatedAt(), worst.getId(), block.lastAt, block.lastId);
+                    if (distance > 0) break;
+                }
+                decoded.clear();
+                if (!block.inflate(decoded)) break;
+                for (ArchivedChat chat : decoded) {
+                    if (cursorId != null) {
+                        int position = KeyCodec.compare(chat.getCreatedAt(), chat.getId(), cursorAt, cursorId);
+                        if (forward ? position <= 0 : position >= 0) continue;
+                    }
+                    best.add(chat);
+                    if (best.size() > limit) best.poll();
+                }
+            }
+            page.addAll(best);
+        });
+        page.sort(order);
+        return page;
+    }
+
+    // Inflates only the blocks whose id range covers the message
+    public Optional<ArchivedChat> find(Long mentorshipId, Long chatId) {
+        List<ArchivedChat> found = new ArrayList<>();
+        withBlocks(mentorshipId, blocks -> {
+            List<ArchivedChat> decoded = new ArrayList<>();
+            for (Block block : blocks) {
+                if (chatId < block.minId || chatId > block.maxId) continue;
+                decoded.clear();
+                if (!block.inflate(decoded)) break;
+                for (ArchivedChat chat : decoded) {
+                    if (chat.getId().equals(chatId)) {
+                        found.add(chat);
+                        return;
+                    }
+                }
+            }
+        });
+        return found.stream().findFirst();
+    }
+
+    // Maps the segment and hands its intact block headers to the reader; payloads are inflated on demand
+    private void withBlocks(Long mentorshipId, BlockReader reader) {
+        if (!hasArchive(mentorshipId)) return;
+
+        try (FileChannel channel = FileChannel.open(segmentPath(mentorshipId), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Inflater inflater = new Inflater();
+            try {
+                List<Block> blocks = new ArrayList<>();
+                int position = 0;
+                Block block;
+                while ((block = Block.at(mapped, position, inflater)) != null) {
+                    blocks.add(block);
+                    position = block.end();
+                }
+                reader.read(blocks);
+            } finally {
+                inflater.end();
+            }
+        } catch (NoSuchFileException e) {
+            archivedMentorships.remove(mentorshipId);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read chat archive for mentorship " + mentorshipId, e);
+        }
+    }
+
+    // Length of the prefix made of intact blocks, payload checksums included. Streams the file a
+    // header and a buffer at a time, so it needs neither the whole file in memory nor a mapping the
+    // caller might truncate under.
+    private static long validLength(FileChannel channel) throws IOException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (size >= 4) {
+            header.limit(4);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC) {
+                // Not a torn block of ours; never truncate a file we do not understand
+                throw new IOException("Unrecognized chat archive segment format");
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long position = 0;
+        while (size - position >= HEADER_BYTES) {
+            header.clear();
+            readFully(channel, header, position);
+            if (!Block.headerIntact(header)) break;
+            int compressedLength = header.getInt(12);
+            if (compressedLength < 0 || compressedLength > size - position - HEADER_BYTES) break;
+
+            CRC32 crc = new CRC32();
+            long at = position + HEADER_BYTES;
+            long end = at + compressedLength;
+            while (at < end) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), end - at));
+                readFully(channel, buffer, at);
+                at += buffer.position();
+                crc.update(buffer.flip());
+            }
+            if (crc.getValue() != header.getLong(HEADER_BYTES - 16)) break;
+            position = end;
+        }
+        return position;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer into, long position) throws IOException {
+        while (into.hasRemaining()) {
+            if (channel.read(into, position + into.position()) < 0) throw new EOFException();
+        }
+    }
+
+    private Path segmentPath(Long mentorshipId) {
+        return root.resolve("mentorship-" + mentorshipId + ".seg");
+    }
+
+    private static byte[] encode(List<ArchivedChat> chats) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(chats.size() * 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (ArchivedChat chat : chats) {
+            out.writeLong(chat.getId());
+            out.writeLong(chat.getSenderId());
+            byte[] content = chat.getContent().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(content.length);
+            out.write(content);
+            out.writeUTF(chat.getMessageType().name());
+            out.writeBoolean(chat.getFileUrl() != null);
+            if (chat.getFileUrl() != null) {
+                out.writeUTF(chat.getFileUrl());
+            }
+            out.writeBoolean(Boolean.TRUE.equals(chat.getIsRead()));
+            out.writeLong(chat.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(chat.getCreatedAt().getNano());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void decode(byte[] raw, int count, List<ArchivedChat> into) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        for (int i = 0; i < count; i++) {
+            long id = in.readLong();
+            long senderId = in.readLong();
+            byte[] content = new byte[in.readInt()];
+            in.readFully(content);
+            Chat.MessageType messageType = Chat.MessageType.valueOf(in.readUTF());
+            String fileUrl = in.readBoolean() ? in.readUTF() : null;
+            boolean isRead = in.readBoolean();
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            into.add(new ArchivedChat(id, senderId, new String(content, StandardCharsets.UTF_8),
+                messageType, fileUrl, isRead, createdAt));
+        }
+    }
+
+    private interface BlockReader {
+        void read(List<Block> blocks) throws IOException;
+    }
+
+    // One block header read from the mapping; the payload is a slice of the mapping, not a copy
+    private static final class Block {
+        private final ByteBuffer payload;
+        private final Inflater inflater;
+        private final int offset;
+        private final int count;
+        private final int rawLength;
+        private final long minId;
+        private final long maxId;
+        private final LocalDateTime firstAt;
+        private final long firstId;
+        private final LocalDateTime lastAt;
+        private final long lastId;
+        private final long payloadCrc;
+
+        private Block(ByteBuffer header, ByteBuffer payload, Inflater inflater, int offset) {
+            this.payload = payload;
+            this.inflater = inflater;
+            this.offset = offset;
+            header.getInt(); // magic
+            count = header.getInt();
+            rawLength = header.getInt();
+            header.getInt(); // compressed length
+            minId = header.getLong();
+            maxId = header.getLong();
+            firstAt = KeyCodec.getAt(header);
+            firstId = header.getLong();
+            lastAt = KeyCodec.getAt(header);
+            lastId = header.getLong();
+            payloadCrc = header.getLong();
+        }
+
+        // The block at position, or null when the bytes there are not an intact header with its whole payload
+        private static Block at(ByteBuffer mapped, int position, Inflater inflater) {
+            if (mapped.limit() - position < HEADER_BYTES) return null;
+            ByteBuffer header = mapped.slice(position, HEADER_BYTES);
+            if (!headerIntact(header)) return null;
+
+            int compressedLength = header.getInt(12);
+            if (compressedLength < 0 || compressedLength > mapped.limit() - position - HEADER_BYTES) return null;
+            return new Block(header, mapped.slice(position + HEADER_BYTES, compressedLength), inflater, position);
+        }
+
+        private static boolean headerIntact(ByteBuffer header) {
+            if (header.getInt(0) != MAGIC) return false;
+            CRC32 crc = new CRC32();
+            crc.update(header.slice(0, HEADER_BYTES - 8));
+            return crc.getValue() == header.getLong(HEADER_BYTES - 8);
+        }
+
+        private int end() {
+            return offset + HEADER_BYTES + payload.capacity();
+        }
+
+        private boolean payloadIntact() {
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            return crc.getValue() == payloadCrc;
+        }
+
+        // Appends the block's records; false for a payload torn after its header was written
+        private boolean inflate(List<ArchivedChat> into) throws IOException {
+            if (!payloadIntact()) return false;
+            byte[] raw = new byte[rawLength];
+            inflater.reset();
+            inflater.setInput(payload.duplicate());
+            try {
+                inflater.inflate(raw);
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt chat archive block at offset " + offset, e);
+            }
+            decode(raw, count, into);
+            return true;
+        }
+    }
+
+    // (createdAt, id) keys, stored as epoch second, nanos and id
+    private static final class KeyCodec {
+        private static final int BYTES = 8 + 4 + 8;
+        private static final Comparator<ArchivedChat> ORDER =
+            Comparator.comparing(ArchivedChat::getCreatedAt).thenComparing(ArchivedChat::getId);
+
+        private static void put(ByteBuffer buffer, LocalDateTime at, long id) {
+            buffer.putLong(at.toEpochSecond(ZoneOffset.UTC)).putInt(at.getNano()).putLong(id);
+        }
+
+        private static LocalDateTime getAt(ByteBuffer buffer) {
+            return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        }
+
+        private static int compare(ArchivedChat a, ArchivedChat b) {
+            return ORDER.compare(a, b);
+        }
+
+        private static int compare(LocalDateTime atA, long idA, LocalDateTime atB, long idB) {
+            int byTime = atA.compareTo(atB);
+            return byTime != 0 ? byTime : Long.compare(idA, idB);
+        }
+    }
+}
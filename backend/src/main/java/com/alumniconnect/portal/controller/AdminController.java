@@ -1,6 +1,10 @@
 package com.alumniconnect.portal.controller;
 
+import com.alumniconnect.portal.archive.ChatArchiver;
 import com.alumniconnect.portal.service.AdminAnalyticsService;
+import com.alumniconnect.portal.service.AnalyticsSnapshotService;
+import com.alumniconnect.portal.service.ChatSearchIndex;
+import com.alumniconnect.portal.service.MentorAssignmentJob;
 import com.alumniconnect.portal.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +25,18 @@ public class AdminController {
     @Autowired
     private AdminAnalyticsService analyticsService;
 
+    @Autowired
+    private AnalyticsSnapshotService snapshotService;
+
+    @Autowired
+    private ChatSearchIndex chatSearchIndex;
+
+    @Autowired
+    private ChatArchiver chatArchiver;
+
+    @Autowired
+    private MentorAssignmentJob mentorAssignmentJob;
+
     @GetMapping("/analytics")
     public ResponseEntity<Map<String, Object>> getAnalytics() {
         Map<String, Object> analytics = new HashMap<>();
@@ -36,27 +52,55 @@ public class AdminController {
 
     @GetMapping("/analytics/mentorship-continuity")
     public ResponseEntity<Map<String, Object>> getMentorshipContinuityAnalytics() {
-        return ResponseEntity.ok(analyticsService.getMentorshipContinuityMetrics());
+        return ResponseEntity.ok(snapshotService.getSnapshot().getContinuity());
     }
 
     @GetMapping("/analytics/effectiveness")
     public ResponseEntity<Map<String, Object>> getEffectivenessAnalytics() {
-        return ResponseEntity.ok(analyticsService.getMentorshipEffectivenessMetrics());
+        return ResponseEntity.ok(snapshotService.getSnapshot().getEffectiveness());
     }
 
     @GetMapping("/analytics/risk-assessment")
-    public ResponseEntity<Map<String, Object>> getRiskAssessment() {
-        return ResponseEntity.ok(analyticsService.getPredictiveRiskAnalysis());
+    public ResponseEntity<Map<String, Object>> getRiskAssessment(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer minScore) {
+        // The default first page comes from the snapshot; paging and filtering run live
+        if (afterId == null && limit == null && minScore == null) {
+            return ResponseEntity.ok(snapshotService.getSnapshot().getRiskAssessment());
+        }
+        return ResponseEntity.ok(analyticsService.getPredictiveRiskAnalysis(
+            afterId, limit != null ? limit : 50, minScore != null ? minScore : 50));
     }
 
     @GetMapping("/analytics/mentor-load-balancing")
     public ResponseEntity<Map<String, Object>> getMentorLoadBalancing() {
-        return ResponseEntity.ok(analyticsService.getMentorLoadBalancingData());
+        return ResponseEntity.ok(snapshotService.getSnapshot().getMentorLoadBalancing());
     }
 
     @GetMapping("/analytics/program-insights")
     public ResponseEntity<Map<String, Object>> getProgramInsights() {
-        return ResponseEntity.ok(analyticsService.getProgramLevelInsights());
+        return ResponseEntity.ok(snapshotService.getSnapshot().getProgramInsights());
+    }
+
+    @GetMapping("/analytics/snapshot")
+    public ResponseEntity<AnalyticsSnapshotService.Snapshot> getAnalyticsSnapshot() {
+        return ResponseEntity.ok(snapshotService.getSnapshot());
+    }
+
+    @PostMapping("/analytics/refresh")
+    public ResponseEntity<?> refreshAnalytics() {
+        try {
+            AnalyticsSnapshotService.Snapshot snapshot = snapshotService.refresh();
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Analytics refreshed successfully");
+            response.put("computedAt", snapshot.getComputedAt());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     @PostMapping("/auto-balance-mentors")
@@ -64,6 +108,23 @@ public class AdminController {
         return ResponseEntity.ok(analyticsService.performAutomaticMentorLoadBalancing());
     }
 
+    // Activates the whole PENDING queue in the background; resumes an unfinished run unless fromStart=true
+    @PostMapping("/mentor-assignment/run")
+    public ResponseEntity<?> runMentorAssignment(@RequestParam(defaultValue = "false") boolean fromStart) {
+        try {
+            return ResponseEntity.ok(mentorAssignmentJob.start(fromStart));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @GetMapping("/mentor-assignment/progress")
+    public ResponseEntity<Map<String, Object>> getMentorAssignmentProgress() {
+        return ResponseEntity.ok(mentorAssignmentJob.getProgress());
+    }
+
     @PutMapping("/users/{id}/verify")
     public ResponseEntity<?> verifyUser(@PathVariable Long id) {
         try {
@@ -105,4 +166,25 @@ public class AdminController {
             return ResponseEntity.badRequest().body(error);
         }
     }
-}
\ No newline at end of file
+
+    // Re-derives the chat full-text index from the chats table
+    @PostMapping("/chat-search/rebuild")
+    public ResponseEntity<?> rebuildChatSearchIndex() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Chat search index rebuilt");
+            response.put("indexed", chatSearchIndex.rebuild());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Runs one archiving pass now instead of waiting for the schedule
+    @PostMapping("/chat-archive/run")
+    public ResponseEntity<Map<String, Object>> runChatArchive() {
+        return ResponseEntity.ok(chatArchiver.archive());
+    }
+}
@@ -0,0 +1,202 @@
+package com.alumniconnect.portal.controller;
+
+import com.alumniconnect.portal.storage.AttachmentStorage;
+import com.alumniconnect.portal.storage.StoredAttachment;
+import com.alumniconnect.portal.storage.ThumbnailGenerator;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/attachments")
+@CrossOrigin(origins = "http://localhost:3000", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
+public class AttachmentController {
+
+    // Tomcat serves files at least this large with sendfile, off the request thread
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    // Uploader-supplied types that are safe to render from the API origin; everything else is a download
+    private static final Set<String> INLINE_TYPES = Set.of(
+        MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_GIF_VALUE, "image/webp");
+
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+
+    @Autowired
+    private ThumbnailGenerator thumbnailGenerator;
+
+    // The request body is the raw file, streamed to storage as it arrives
+    @PostMapping
+    public ResponseEntity<?> upload(HttpServletRequest request,
+                                    @RequestParam(required = false) String filename) {
+        try {
+            StoredAttachment attachment = attachmentStorage.store(request.getInputStream(), filename, request.getContentType());
+            Map<String, Object> response = new HashMap<>();
+            response.put("key", attachment.getKey());
+            response.put("url", attachment.getUrl());
+            response.put("size", attachment.getSize());
+            response.put("contentType", attachment.getContentType());
+            response.put("filename", attachment.getFilename());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Until the thumbnail exists the client is redirected to the original image
+    @GetMapping("/{key}/thumbnail")
+    public ResponseEntity<?> thumbnail(@PathVariable String key,
+                                       @RequestParam(defaultValue = "" + ThumbnailGenerator.DEFAULT_SIZE) int size) {
+        if (!ThumbnailGenerator.isSupportedSize(size)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Unsupported thumbnail size");
+            return ResponseEntity.badRequest().body(error);
+        }
+        Optional<StoredAttachment> attachment = attachmentStorage.find(key);
+        if (attachment.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        Optional<Path> thumbnail = thumbnailGenerator.find(key, size);
+        if (thumbnail.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT)
+                .header(HttpHeaders.LOCATION, attachment.get().getUrl())
+                .build();
+        }
+        Resource body = new FileSystemResource(thumbnail.get());
+        MediaType type = thumbnail.get().toString().endsWith(".png") ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG;
+        return ResponseEntity.ok()
+            .contentType(type)
+            .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+            .body(body);
+    }
+
+    @GetMapping("/{key}")
+    public void download(@PathVariable String key, @RequestParam(required = false) String filename,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<StoredAttachment> found = attachmentStorage.find(key);
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        StoredAttachment attachment = found.get();
+        long length = attachment.getSize();
+        
+        // Content-addressed, so the key is a strong validator and the bytes never change
+        String etag = "\"" + key + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // The content type comes from the uploader: never sniff it, never run scripts in it
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader("Content-Security-Policy", "default-src 'none'; sandbox");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Multiple ranges are answered with the whole file, which RFC 9110 permits
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+        long count = end - start + 1;
+        
+        response.setContentType(attachment.getContentType());
+        response.setContentLengthLong(count);
+        ContentDisposition.Builder disposition = isInlineType(attachment.getContentType())
+            ? ContentDisposition.inline() : ContentDisposition.attachment();
+        if (filename != null && !filename.isBlank()) {
+            disposition.filename(filename, StandardCharsets.UTF_8);
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.build().toString());
+        
+        Optional<Path> localPath = attachmentStorage.localPath(key);
+        if (localPath.isPresent() && count >= SENDFILE_MIN_BYTES
+                && Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            // Kernel copies file to socket; the request thread returns immediately
+            request.setAttribute("org.apache.tomcat.sendfile.filename", localPath.get().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return;
+        }
+        
+        try (SeekableByteChannel channel = attachmentStorage.open(key)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            if (channel instanceof FileChannel file) {
+                long position = start;
+                while (position <= end) {
+                    position += file.transferTo(position, end + 1 - position, target);
+                }
+            } else {
+                channel.position(start);
+                ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+                long remaining = count;
+                while (remaining > 0) {
+                    buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+                    int read = channel.read(buffer);
+                    if (read < 0) break;
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                    remaining -= read;
+                }
+            }
+            out.flush();
+        }
+    }
+
+    private static boolean isInlineType(String contentType) {
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            return INLINE_TYPES.contains(type.getType() + "/" + type.getSubtype());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.alumniconnect.portal.controller;
+
+import com.alumniconnect.portal.entity.Chat;
+import com.alumniconnect.portal.service.ChatService;
+import com.alumniconnect.portal.service.ChatFanoutHub;
+import com.alumniconnect.portal.service.ChatSearchIndex;
+import com.alumniconnect.portal.service.ConversationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/chats")
+@CrossOrigin(origins = "http://localhost:3000", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
+public class ChatController {
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ChatFanoutHub chatFanoutHub;
+
+    @Autowired
+    private ConversationService conversationService;
+
+    @Autowired
+    private ChatSearchIndex chatSearchIndex;
+
+    @GetMapping("/conversations")
+    public ResponseEntity<?> getConversations(@RequestParam Long userId,
+                                              @RequestParam(required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeAt,
+                                              @RequestParam(required = false) Long beforeId,
+                                              @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(conversationService.getConversations(userId, beforeAt, beforeId, size));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchMessages(@RequestParam Long userId,
+                                            @RequestParam String q,
+                                            @RequestParam(required = false) Long mentorshipId,
+                                            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(chatSearchIndex.search(userId, q, mentorshipId, limit));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @GetMapping("/{mentorshipId}/messages")
+    public ResponseEntity<?> getMessages(@PathVariable Long mentorshipId,
+                                         @RequestParam(required = false) Long before,
+                                         @RequestParam(required = false) Long after,
+                                         @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(chatService.getChatHistoryPage(mentorshipId, before, after, size));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Server-Sent Events stream of new messages in one mentorship, for its participants only
+    @GetMapping(value = "/{mentorshipId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMessages(@PathVariable Long mentorshipId, @RequestParam Long userId) {
+        try {
+            return ResponseEntity.ok(chatFanoutHub.subscribe(mentorshipId, userId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/{mentorshipId}/messages")
+    public ResponseEntity<?> sendMessage(@PathVariable Long mentorshipId, @RequestBody Map<String, Object> data) {
+        try {
+            Long senderId = Long.parseLong(data.get("senderId").toString());
+            String content = (String) data.get("content");
+            Chat.MessageType messageType = data.get("messageType") != null
+                ? Chat.MessageType.valueOf(data.get("messageType").toString())
+                : Chat.MessageType.TEXT;
+            
+            String fileUrl = data.get("fileUrl") != null ? data.get("fileUrl").toString() : null;
+            
+            Chat chat = chatService.sendMessage(mentorshipId, senderId, content, messageType, fileUrl);
+            return ResponseEntity.ok(ChatService.toMessage(chat));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @PutMapping("/{mentorshipId}/read")
+    public ResponseEntity<?> markAllAsRead(@PathVariable Long mentorshipId,
+                                           @RequestParam Long userId,
+                                           @RequestParam(required = false) Long upTo) {
+        try {
+            int updated = chatService.markAllAsRead(mentorshipId, userId, upTo);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Messages marked as read");
+            response.put("updated", updated);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @GetMapping("/unread")
+    public ResponseEntity<Map<String, Object>> getUnreadCounts(@RequestParam Long userId) {
+        return ResponseEntity.ok(chatService.getUnreadCounts(userId));
+    }
+
+    @PutMapping("/messages/{messageId}/read")
+    public ResponseEntity<?> markAsRead(@PathVariable Long messageId) {
+        try {
+            chatService.markAsRead(messageId);
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Message marked as read");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
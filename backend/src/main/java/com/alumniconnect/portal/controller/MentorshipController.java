@@ -2,6 +2,7 @@ package com.alumniconnect.portal.controller;
 
 import com.alumniconnect.portal.entity.Mentorship;
 import com.alumniconnect.portal.entity.User;
+import com.alumniconnect.portal.service.MentorRecommendationEngine;
 import com.alumniconnect.portal.service.MentorshipService;
 import com.alumniconnect.portal.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +25,21 @@ public class MentorshipController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private MentorRecommendationEngine recommendationEngine;
+
+    @GetMapping("/recommendations")
+    public ResponseEntity<?> getRecommendations(@RequestParam Long menteeId,
+                                                @RequestParam(defaultValue = "5") int limit) {
+        try {
+            return ResponseEntity.ok(recommendationEngine.recommend(menteeId, limit));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @PostMapping
     public ResponseEntity<?> createMentorship(@RequestBody Map<String, Object> data) {
         try {
@@ -1,8 +1,14 @@
 package com.alumniconnect.portal.controller;
 
+import com.alumniconnect.portal.dto.DirectoryQuery;
+import com.alumniconnect.portal.dto.UserSummary;
 import com.alumniconnect.portal.entity.User;
+import com.alumniconnect.portal.service.AlumniDirectoryCache;
+import com.alumniconnect.portal.service.UserDirectoryService;
 import com.alumniconnect.portal.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -19,16 +25,79 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserDirectoryService userDirectoryService;
+
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
+    public ResponseEntity<List<UserSummary>> getAllUsers() {
+        List<UserSummary> users = userService.getAllUsers();
         return ResponseEntity.ok(users);
     }
 
+    // Served from pre-serialized bytes; unchanged directories answer If-None-Match with 304
     @GetMapping("/alumni")
-    public ResponseEntity<List<User>> getAlumni() {
-        List<User> alumni = userService.getVerifiedAlumni();
-        return ResponseEntity.ok(alumni);
+    public ResponseEntity<byte[]> getAlumni(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        AlumniDirectoryCache.Rendered alumni = userService.getVerifiedAlumniJson();
+        if (alumni.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(alumni.etag()).build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(alumni.etag())
+            .body(alumni.json());
+    }
+
+    // Typo-tolerant name autocomplete, e.g. /search?q=jon smi&role=ALUMNI
+    @GetMapping("/search")
+    public ResponseEntity<?> searchByName(@RequestParam String q,
+                                          @RequestParam(required = false) String role,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        try {
+            User.Role roleFilter = role != null ? User.Role.valueOf(role.toUpperCase()) : null;
+            return ResponseEntity.ok(userService.searchByName(q, roleFilter, limit));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // e.g. /directory?role=ALUMNI&verified=true&industry=Finance&minExperience=5&sort=name; pass the returned
+    // "after" token back to get the next page
+    @GetMapping("/directory")
+    public ResponseEntity<?> getDirectory(@RequestParam(required = false) String role,
+                                          @RequestParam(required = false) Boolean verified,
+                                          @RequestParam(required = false) Boolean active,
+                                          @RequestParam(required = false) String university,
+                                          @RequestParam(required = false) String industry,
+                                          @RequestParam(required = false) String location,
+                                          @RequestParam(required = false) Integer minGraduationYear,
+                                          @RequestParam(required = false) Integer maxGraduationYear,
+                                          @RequestParam(required = false) Integer minExperience,
+                                          @RequestParam(required = false) Integer maxExperience,
+                                          @RequestParam(defaultValue = "id") String sort,
+                                          @RequestParam(defaultValue = "asc") String direction,
+                                          @RequestParam(required = false) String after,
+                                          @RequestParam(defaultValue = "20") int size) {
+        try {
+            DirectoryQuery.Sort sortOrder = switch (sort) {
+                case "id" -> DirectoryQuery.Sort.ID;
+                case "name" -> DirectoryQuery.Sort.NAME;
+                case "graduationYear" -> DirectoryQuery.Sort.GRADUATION_YEAR;
+                case "experience" -> DirectoryQuery.Sort.EXPERIENCE;
+                default -> throw new RuntimeException("Unknown sort: " + sort);
+            };
+            DirectoryQuery query = new DirectoryQuery(
+                role != null ? User.Role.valueOf(role.toUpperCase()) : null,
+                verified, active, university, industry, location,
+                minGraduationYear, maxGraduationYear, minExperience, maxExperience,
+                sortOrder, "desc".equalsIgnoreCase(direction));
+            return ResponseEntity.ok(userDirectoryService.getPage(query, after, size));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     @GetMapping("/{id}")
@@ -46,7 +115,7 @@ public class UserController {
     @PutMapping("/{id}")
     public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody Map<String, Object> userData) {
         try {
-            User user = userService.getUserById(id);
+            User user = userService.getUserForUpdate(id);
             
             if (userData.get("firstName") != null) user.setFirstName((String) userData.get("firstName"));
             if (userData.get("lastName") != null) user.setLastName((String) userData.get("lastName"));
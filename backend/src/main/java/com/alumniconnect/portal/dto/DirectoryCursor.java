@@ -0,0 +1,98 @@
+package com.alumniconnect.portal.dto;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset position in the user directory: the sort-key values of the last row
+ * of a page, ending on its id. Clients get it as an opaque URL-safe token, so
+ * paging does not depend on that user still existing or keeping the same
+ * name, graduation year or experience.
+ */
+public record DirectoryCursor(DirectoryQuery.Sort sort, boolean descending, List<Comparable<?>> values) {
+
+    private static final int VERSION = 1;
+
+    public static DirectoryCursor after(UserSummary row, DirectoryQuery query) {
+        List<Comparable<?>> values = new ArrayList<>(3);
+        switch (query.sort()) {
+            case ID -> values.add(row.id());
+            case NAME -> {
+                values.add(row.lastName());
+                values.add(row.firstName());
+                values.add(row.id());
+            }
+            case GRADUATION_YEAR -> {
+                values.add(row.graduationYear());
+                values.add(row.id());
+            }
+            case EXPERIENCE -> {
+                values.add(row.experience());
+                values.add(row.id());
+            }
+        }
+        return new DirectoryCursor(query.sort(), query.descending(), values);
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(sort.ordinal());
+            out.writeBoolean(descending);
+            for (Comparable<?> value : values) {
+                out.writeBoolean(value != null);
+                if (value instanceof Long id) out.writeLong(id);
+                else if (value instanceof Integer number) out.writeInt(number);
+                else if (value instanceof String text) out.writeUTF(text);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    // Rejects tokens that are malformed or were issued for a different order
+    public static DirectoryCursor decode(String token, DirectoryQuery query) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION) throw new RuntimeException("Invalid cursor");
+            DirectoryQuery.Sort sort = DirectoryQuery.Sort.values()[in.readByte()];
+            boolean descending = in.readBoolean();
+            if (sort != query.sort() || descending != query.descending()) {
+                throw new RuntimeException("Cursor does not match the requested order");
+            }
+
+            List<Comparable<?>> values = new ArrayList<>(3);
+            switch (sort) {
+                case ID -> values.add(readLong(in));
+                case NAME -> {
+                    values.add(readString(in));
+                    values.add(readString(in));
+                    values.add(readLong(in));
+                }
+                case GRADUATION_YEAR, EXPERIENCE -> {
+                    values.add(readInt(in));
+                    values.add(readLong(in));
+                }
+            }
+            if (values.get(values.size() - 1) == null || in.available() > 0) throw new RuntimeException("Invalid cursor");
+            return new DirectoryCursor(sort, descending, values);
+        } catch (IOException | IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static Integer readInt(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.alumniconnect.portal.dto;
+
+import com.alumniconnect.portal.entity.User;
+
+/**
+ * Filters and ordering for the user directory. Null filters are ignored;
+ * ranges are inclusive.
+ */
+public record DirectoryQuery(
+    User.Role role,
+    Boolean verified,
+    Boolean active,
+    String university,
+    String industry,
+    String location,
+    Integer minGraduationYear,
+    Integer maxGraduationYear,
+    Integer minExperience,
+    Integer maxExperience,
+    Sort sort,
+    boolean descending
+) {
+    public enum Sort {
+        ID, NAME, GRADUATION_YEAR, EXPERIENCE
+    }
+
+    // Identifies the filter combination only, for caching counts across pages and orders
+    public DirectoryQuery countKey() {
+        return new DirectoryQuery(role, verified, active, university, industry, location,
+            minGraduationYear, maxGraduationYear, minExperience, maxExperience, Sort.ID, false);
+    }
+}
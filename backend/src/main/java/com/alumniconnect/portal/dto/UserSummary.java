@@ -0,0 +1,37 @@
+package com.alumniconnect.portal.dto;
+
+import com.alumniconnect.portal.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * The user columns shown in directory listings. Selected directly by JPQL
+ * constructor expressions, so password, phone, bio and the remaining
+ * profile fields are never read or serialized.
+ */
+public record UserSummary(
+    Long id,
+    String firstName,
+    String lastName,
+    String email,
+    User.Role role,
+    String university,
+    Integer graduationYear,
+    String major,
+    String currentCompany,
+    String position,
+    Integer experience,
+    String industry,
+    String location,
+    String linkedinProfile,
+    String profilePicture,
+    Boolean isVerified,
+    Boolean isActive,
+    LocalDateTime createdAt
+) {
+    // JPQL select list matching the constructor, shared by every summary query
+    public static final String SELECT = "SELECT new com.alumniconnect.portal.dto.UserSummary(" +
+        "u.id, u.firstName, u.lastName, u.email, u.role, u.university, u.graduationYear, u.major, " +
+        "u.currentCompany, u.position, u.experience, u.industry, u.location, u.linkedinProfile, " +
+        "u.profilePicture, u.isVerified, u.isActive, u.createdAt) ";
+}
@@ -1,20 +1,26 @@
 package com.alumniconnect.portal.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chats")
+@Table(name = "chats", indexes = {
+    @Index(name = "idx_chats_mentorship_created", columnList = "mentorship_id, created_at, id")
+})
+@NamedEntityGraph(name = "Chat.withSender", attributeNodes = @NamedAttributeNode("sender"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Chat {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chats_seq")
+    @SequenceGenerator(name = "chats_seq", sequenceName = "chats_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mentorship_id", nullable = false)
     private Mentorship mentorship;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_id", nullable = false)
     private User sender;
 
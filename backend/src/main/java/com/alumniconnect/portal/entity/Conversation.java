@@ -0,0 +1,79 @@
+package com.alumniconnect.portal.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One row per (user, mentorship) holding the latest message, so a user's
+ * conversation list is an index range scan rather than a join over chats.
+ * Maintained by ChatWritePipeline on every flush.
+ */
+@Entity
+@Table(name = "conversations",
+    uniqueConstraints = @UniqueConstraint(name = "uk_conversations_user_mentorship", columnNames = {"user_id", "mentorship_id"}),
+    indexes = @Index(name = "idx_conversations_user_last", columnList = "user_id, last_message_at, id"))
+public class Conversation {
+    public static final int PREVIEW_LENGTH = 140;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conversations_seq")
+    @SequenceGenerator(name = "conversations_seq", sequenceName = "conversations_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "mentorship_id", nullable = false)
+    private Long mentorshipId;
+
+    @Column(nullable = false)
+    private Long counterpartId;
+
+    private Long lastMessageId;
+    private Long lastSenderId;
+
+    @Column(length = PREVIEW_LENGTH)
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    // Constructors
+    public Conversation() {}
+
+    public Conversation(Long userId, Long mentorshipId, Long counterpartId) {
+        this.userId = userId;
+        this.mentorshipId = mentorshipId;
+        this.counterpartId = counterpartId;
+    }
+
+    public static String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) return content;
+        return content.substring(0, PREVIEW_LENGTH);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getMentorshipId() { return mentorshipId; }
+    public void setMentorshipId(Long mentorshipId) { this.mentorshipId = mentorshipId; }
+
+    public Long getCounterpartId() { return counterpartId; }
+    public void setCounterpartId(Long counterpartId) { this.counterpartId = counterpartId; }
+
+    public Long getLastMessageId() { return lastMessageId; }
+    public void setLastMessageId(Long lastMessageId) { this.lastMessageId = lastMessageId; }
+
+    public Long getLastSenderId() { return lastSenderId; }
+    public void setLastSenderId(Long lastSenderId) { this.lastSenderId = lastSenderId; }
+
+    public String getLastMessagePreview() { return lastMessagePreview; }
+    public void setLastMessagePreview(String lastMessagePreview) { this.lastMessagePreview = lastMessagePreview; }
+
+    public LocalDateTime getLastMessageAt() { return lastMessageAt; }
+    public void setLastMessageAt(LocalDateTime lastMessageAt) { this.lastMessageAt = lastMessageAt; }
+}
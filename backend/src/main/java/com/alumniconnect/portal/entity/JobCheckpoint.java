@@ -0,0 +1,84 @@
+package com.alumniconnect.portal.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a chunked batch job, written in the same transaction as each
+ * chunk, so a job that stops part-way resumes after the last committed row.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+    @Id
+    @Column(length = 64)
+    private String jobName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.RUNNING;
+
+    // Keyset position: the highest id the job has committed
+    private Long lastProcessedId = 0L;
+
+    private Long processed = 0L;
+    private Long succeeded = 0L;
+    private Long skipped = 0L;
+    private Integer chunks = 0;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    private LocalDateTime startedAt = LocalDateTime.now();
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    // Constructors
+    public JobCheckpoint() {}
+
+    public JobCheckpoint(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public boolean isResumable() {
+        return status != Status.COMPLETED;
+    }
+
+    // Getters and Setters
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public Long getLastProcessedId() { return lastProcessedId; }
+    public void setLastProcessedId(Long lastProcessedId) { this.lastProcessedId = lastProcessedId; }
+
+    public Long getProcessed() { return processed; }
+    public void setProcessed(Long processed) { this.processed = processed; }
+
+    public Long getSucceeded() { return succeeded; }
+    public void setSucceeded(Long succeeded) { this.succeeded = succeeded; }
+
+    public Long getSkipped() { return skipped; }
+    public void setSkipped(Long skipped) { this.skipped = skipped; }
+
+    public Integer getChunks() { return chunks; }
+    public void setChunks(Integer chunks) { this.chunks = chunks; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
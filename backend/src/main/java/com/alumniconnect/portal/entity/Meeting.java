@@ -1,24 +1,32 @@
 package com.alumniconnect.portal.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "meetings")
+@NamedEntityGraph(name = "Meeting.withParticipants", attributeNodes = {
+    @NamedAttributeNode("mentorship"),
+    @NamedAttributeNode("organizer"),
+    @NamedAttributeNode("participant")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Meeting {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meetings_seq")
+    @SequenceGenerator(name = "meetings_seq", sequenceName = "meetings_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mentorship_id", nullable = false)
     private Mentorship mentorship;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organizer_id", nullable = false)
     private User organizer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "participant_id", nullable = false)
     private User participant;
 
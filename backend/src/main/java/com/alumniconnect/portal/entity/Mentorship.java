@@ -1,20 +1,30 @@
 package com.alumniconnect.portal.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "mentorships")
+@Table(name = "mentorships", indexes = {
+    @Index(name = "idx_mentorships_mentor_status", columnList = "mentor_id, status"),
+    @Index(name = "idx_mentorships_status_id", columnList = "status, id")
+})
+@NamedEntityGraph(name = "Mentorship.withParticipants", attributeNodes = {
+    @NamedAttributeNode("mentor"),
+    @NamedAttributeNode("mentee")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Mentorship {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mentorships_seq")
+    @SequenceGenerator(name = "mentorships_seq", sequenceName = "mentorships_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mentor_id", nullable = false)
     private User mentor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mentee_id", nullable = false)
     private User mentee;
 
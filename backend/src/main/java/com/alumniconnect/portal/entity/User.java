@@ -1,13 +1,24 @@
 package com.alumniconnect.portal.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_role_industry", columnList = "role, industry"),
+    @Index(name = "idx_users_university", columnList = "university"),
+    @Index(name = "idx_users_location", columnList = "location"),
+    // Directory keyset orders (UserDirectoryRepository), each ending in id
+    @Index(name = "idx_users_directory_name", columnList = "role, is_verified, last_name, first_name, id"),
+    @Index(name = "idx_users_directory_graduation", columnList = "role, is_verified, graduation_year, id"),
+    @Index(name = "idx_users_directory_experience", columnList = "role, is_verified, experience, id")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -1,20 +1,144 @@
 package com.alumniconnect.portal.repository;
 
 import com.alumniconnect.portal.entity.Chat;
+import com.alumniconnect.portal.entity.Mentorship;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ChatRepository extends JpaRepository<Chat, Long> {
     List<Chat> findByMentorshipId(Long mentorshipId);
     
+    @EntityGraph("Chat.withSender")
     @Query("SELECT c FROM Chat c WHERE c.mentorship.id = :mentorshipId ORDER BY c.createdAt ASC")
     List<Chat> findByMentorshipIdOrderByCreatedAt(@Param("mentorshipId") Long mentorshipId);
     
-    @Query("SELECT c FROM Chat c WHERE c.mentorship.mentor.id = :userId OR c.mentorship.mentee.id = :userId")
-    List<Chat> findByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    // Keyset pages over (created_at, id), all served by idx_chats_mentorship_created
+
+    @EntityGraph("Chat.withSender")
+    @Query("SELECT c FROM Chat c WHERE c.mentorship.id = :mentorshipId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Chat> findLatestPage(@Param("mentorshipId") Long mentorshipId, Pageable page);
+
+    @EntityGraph("Chat.withSender")
+    @Query("SELECT c FROM Chat c WHERE c.mentorship.id = :mentorshipId " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Chat> findPageBefore(@Param("mentorshipId") Long mentorshipId,
+                              @Param("createdAt") LocalDateTime createdAt,
+                              @Param("id") Long id,
+                              Pageable page);
+
+    @EntityGraph("Chat.withSender")
+    @Query("SELECT c FROM Chat c WHERE c.mentorship.id = :mentorshipId " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Chat> findPageAfter(@Param("mentorshipId") Long mentorshipId,
+                             @Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") Long id,
+                             Pageable page);
+
+    @Query("SELECT c.createdAt FROM Chat c WHERE c.id = :id AND c.mentorship.id = :mentorshipId")
+    Optional<LocalDateTime> findCreatedAt(@Param("mentorshipId") Long mentorshipId, @Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Chat c SET c.isRead = true WHERE c.id = :id AND c.isRead = false")
+    int markRead(@Param("id") Long id);
+
+    // Marks the reader's incoming messages read, up to and including the given (createdAt, id) position
+    @Transactional
+    @Modifying
+    @Query("UPDATE Chat c SET c.isRead = true WHERE c.mentorship.id = :mentorshipId " +
+           "AND c.sender.id <> :readerId AND c.isRead = false " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id <= :id))")
+    int markReadUpTo(@Param("mentorshipId") Long mentorshipId,
+                     @Param("readerId") Long readerId,
+                     @Param("createdAt") LocalDateTime createdAt,
+                     @Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Chat c SET c.isRead = true WHERE c.mentorship.id = :mentorshipId " +
+           "AND c.sender.id <> :readerId AND c.isRead = false")
+    int markAllRead(@Param("mentorshipId") Long mentorshipId, @Param("readerId") Long readerId);
+
+    // Settles the unread messages among rows about to be archived; the count is what this call flipped
+    @Transactional
+    @Modifying
+    @Query("UPDATE Chat c SET c.isRead = true WHERE c.id IN :ids AND c.sender.id = :senderId AND c.isRead = false")
+    int markReadByIdInAndSenderId(@Param("ids") Collection<Long> ids, @Param("senderId") Long senderId);
+
+    @Query("SELECT m.id AS mentorshipId, c.sender.id AS senderId, m.mentor.id AS mentorId, " +
+           "m.mentee.id AS menteeId, COUNT(c) AS unread FROM Chat c JOIN c.mentorship m " +
+           "WHERE c.isRead = false GROUP BY m.id, c.sender.id, m.mentor.id, m.mentee.id")
+    List<UnreadAggregate> countUnreadBySender();
+
+    // The latest message of every mentorship, for rebuilding the conversations table
+    @Query("SELECT c.id AS id, m.id AS mentorshipId, c.sender.id AS senderId, m.mentor.id AS mentorId, " +
+           "m.mentee.id AS menteeId, c.content AS content, c.createdAt AS createdAt FROM Chat c JOIN c.mentorship m " +
+           "WHERE NOT EXISTS (SELECT 1 FROM Chat later WHERE later.mentorship = c.mentorship " +
+           "AND (later.createdAt > c.createdAt OR (later.createdAt = c.createdAt AND later.id > c.id)))")
+    Stream<LatestMessage> streamLatestPerMentorship();
+
+    // Finished mentorships that still have messages older than the cutoff in the hot table
+    @Query("SELECT DISTINCT m.id FROM Chat c JOIN c.mentorship m " +
+           "WHERE m.status IN :statuses AND c.createdAt < :cutoff")
+    List<Long> findArchivableMentorshipIds(@Param("statuses") Collection<Mentorship.Status> statuses,
+                                           @Param("cutoff") LocalDateTime cutoff,
+                                           Pageable page);
+
+    @Query("SELECT c FROM Chat c WHERE c.mentorship.id = :mentorshipId AND c.createdAt < :cutoff " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Chat> findArchivable(@Param("mentorshipId") Long mentorshipId, @Param("cutoff") LocalDateTime cutoff);
+
+    // Forward-only cursor over every message, for rebuilding the search index; callers must close the stream
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id AS id, c.mentorship.id AS mentorshipId, c.sender.id AS senderId, " +
+           "c.content AS content, c.createdAt AS createdAt FROM Chat c ORDER BY c.id")
+    Stream<SearchableMessage> streamSearchableMessages();
+
+    interface SearchableMessage {
+        Long getId();
+        Long getMentorshipId();
+        Long getSenderId();
+        String getContent();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface LatestMessage {
+        Long getId();
+        Long getMentorshipId();
+        Long getSenderId();
+        Long getMentorId();
+        Long getMenteeId();
+        String getContent();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface UnreadAggregate {
+        Long getMentorshipId();
+        Long getSenderId();
+        Long getMentorId();
+        Long getMenteeId();
+        Long getUnread();
+    }
+}
@@ -0,0 +1,47 @@
+package com.alumniconnect.portal.repository;
+
+import com.alumniconnect.portal.entity.Conversation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+
+    boolean existsByUserIdAndMentorshipId(Long userId, Long mentorshipId);
+
+    @Query("SELECT c.mentorshipId FROM Conversation c WHERE c.userId = :userId")
+    List<Long> findMentorshipIdsByUserId(@Param("userId") Long userId);
+
+    // Keyset pages over (last_message_at, id), newest first, served by idx_conversations_user_last
+
+    @Query("SELECT c FROM Conversation c WHERE c.userId = :userId ORDER BY c.lastMessageAt DESC, c.id DESC")
+    List<Conversation> findLatestPage(@Param("userId") Long userId, Pageable page);
+
+    @Query("SELECT c FROM Conversation c WHERE c.userId = :userId " +
+           "AND (c.lastMessageAt < :lastMessageAt OR (c.lastMessageAt = :lastMessageAt AND c.id < :id)) " +
+           "ORDER BY c.lastMessageAt DESC, c.id DESC")
+    List<Conversation> findPageBefore(@Param("userId") Long userId,
+                                      @Param("lastMessageAt") LocalDateTime lastMessageAt,
+                                      @Param("id") Long id,
+                                      Pageable page);
+
+    // Only moves the conversation forward, so out-of-order flushes cannot regress it
+    @Modifying
+    @Query("UPDATE Conversation c SET c.lastMessageId = :messageId, c.lastSenderId = :senderId, " +
+           "c.lastMessagePreview = :preview, c.lastMessageAt = :at " +
+           "WHERE c.userId = :userId AND c.mentorshipId = :mentorshipId " +
+           "AND (c.lastMessageAt IS NULL OR c.lastMessageAt < :at OR (c.lastMessageAt = :at AND c.lastMessageId < :messageId))")
+    int updateLastMessage(@Param("userId") Long userId,
+                          @Param("mentorshipId") Long mentorshipId,
+                          @Param("messageId") Long messageId,
+                          @Param("senderId") Long senderId,
+                          @Param("preview") String preview,
+                          @Param("at") LocalDateTime at);
+}
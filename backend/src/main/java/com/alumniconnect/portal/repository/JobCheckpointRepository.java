@@ -0,0 +1,9 @@
+package com.alumniconnect.portal.repository;
+
+import com.alumniconnect.portal.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
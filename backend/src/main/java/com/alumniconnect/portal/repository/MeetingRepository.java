@@ -1,6 +1,7 @@
 package com.alumniconnect.portal.repository;
 
 import com.alumniconnect.portal.entity.Meeting;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,9 +14,11 @@ import java.util.List;
 public interface MeetingRepository extends JpaRepository<Meeting, Long> {
     List<Meeting> findByMentorshipId(Long mentorshipId);
     
+    @EntityGraph("Meeting.withParticipants")
     @Query("SELECT m FROM Meeting m WHERE (m.organizer.id = :userId OR m.participant.id = :userId)")
     List<Meeting> findByUserId(@Param("userId") Long userId);
     
+    @EntityGraph("Meeting.withParticipants")
     @Query("SELECT m FROM Meeting m WHERE (m.organizer.id = :userId OR m.participant.id = :userId) " +
            "AND m.scheduledDate >= :startDate AND m.scheduledDate <= :endDate")
     List<Meeting> findByUserIdAndDateRange(@Param("userId") Long userId,
@@ -1,10 +1,23 @@
 package com.alumniconnect.portal.repository;
 
 import com.alumniconnect.portal.entity.Mentorship;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MentorshipRepository extends JpaRepository<Mentorship, Long> {
@@ -13,9 +26,152 @@ public interface MentorshipRepository extends JpaRepository<Mentorship, Long> {
     
     List<Mentorship> findByMenteeId(Long menteeId);
     
+    @EntityGraph("Mentorship.withParticipants")
     List<Mentorship> findByMentorIdOrMenteeId(Long mentorId, Long menteeId);
     
     List<Mentorship> findByStatus(Mentorship.Status status);
     
+    @EntityGraph("Mentorship.withParticipants")
+    List<Mentorship> findWithParticipantsByStatus(Mentorship.Status status);
+    
+    @EntityGraph("Mentorship.withParticipants")
+    Optional<Mentorship> findWithParticipantsById(Long id);
+    
     long countByStatus(Mentorship.Status status);
-}
\ No newline at end of file
+    
+    long countByMentorIdAndStatus(Long mentorId, Mentorship.Status status);
+
+    @Query("SELECT m.mentor.id AS mentorId, m.mentee.id AS menteeId FROM Mentorship m WHERE m.id = :id")
+    Optional<Participants> findParticipants(@Param("id") Long id);
+
+    // Applies only while the row still has the status and mentor the caller read, so it cannot
+    // overwrite a concurrent change such as MentorAssignmentJob activating the request
+    @Transactional
+    @Modifying
+    @Query("UPDATE Mentorship m SET m.status = :status, m.responseMessage = :responseMessage, " +
+           "m.startDate = :startDate, m.updatedAt = :updatedAt " +
+           "WHERE m.id = :id AND m.status = :expectedStatus AND m.mentor.id = :expectedMentorId")
+    int updateStatusIfUnchanged(@Param("id") Long id,
+                                @Param("expectedStatus") Mentorship.Status expectedStatus,
+                                @Param("expectedMentorId") Long expectedMentorId,
+                                @Param("status") Mentorship.Status status,
+                                @Param("responseMessage") String responseMessage,
+                                @Param("startDate") LocalDateTime startDate,
+                                @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Only moves lastInteraction forward, so out-of-order flushes can't rewind it
+    @Modifying
+    @Query("UPDATE Mentorship m SET m.lastInteraction = :at " +
+           "WHERE m.id = :id AND (m.lastInteraction IS NULL OR m.lastInteraction < :at)")
+    int touchLastInteraction(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    // One row per status with the row count and the summed start->end duration,
+    // so continuity metrics never have to load Mentorship entities
+    @Query("SELECT m.status AS status, COUNT(m) AS total, " +
+           "SUM(CASE WHEN m.startDate IS NOT NULL AND m.endDate IS NOT NULL " +
+           "THEN (m.endDate - m.startDate) BY DAY ELSE 0 END) AS durationDays, " +
+           "SUM(CASE WHEN m.startDate IS NOT NULL AND m.endDate IS NOT NULL THEN 1 ELSE 0 END) AS durationSamples " +
+           "FROM Mentorship m GROUP BY m.status")
+    List<StatusAggregate> aggregateByStatus();
+
+    // mentor_id -> number of mentorships in the given status, served by idx_mentorships_mentor_status
+    @Query("SELECT m.mentor.id AS mentorId, COUNT(m) AS total FROM Mentorship m " +
+           "WHERE m.status = :status GROUP BY m.mentor.id")
+    List<MentorCount> countByStatusGroupedByMentor(@Param("status") Mentorship.Status status);
+
+    // Forward-only cursor over the columns the risk scorer reads, starting after afterId (0 for
+    // the beginning) so a page seeks by primary key; callers must close the stream
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m.id AS id, m.lastInteraction AS lastInteraction, m.startDate AS startDate, " +
+           "m.meetingsCompleted AS meetingsCompleted FROM Mentorship m " +
+           "WHERE m.status = :status AND m.id > :afterId ORDER BY m.id")
+    Stream<RiskCandidate> streamRiskCandidates(@Param("status") Mentorship.Status status,
+                                               @Param("afterId") Long afterId);
+
+    @Query("SELECT m.id AS id, mentor.firstName AS mentorFirstName, mentor.lastName AS mentorLastName, " +
+           "mentee.firstName AS menteeFirstName, mentee.lastName AS menteeLastName " +
+           "FROM Mentorship m JOIN m.mentor mentor JOIN m.mentee mentee WHERE m.id IN :ids")
+    List<ParticipantNames> findParticipantNames(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m.mentor.id AS mentorId, AVG(m.mentorRating) AS rating FROM Mentorship m " +
+           "WHERE m.mentorRating IS NOT NULL GROUP BY m.mentor.id")
+    List<MentorRating> averageMentorRatings();
+
+    @Query("SELECT m.mentor.id FROM Mentorship m WHERE m.mentee.id = :menteeId AND m.status = :status")
+    List<Long> findMentorIdsByMenteeIdAndStatus(@Param("menteeId") Long menteeId,
+                                                @Param("status") Mentorship.Status status);
+
+    // Keyset pages over one status by id, served by idx_mentorships_status_id
+    @Query("SELECT m.id AS id, m.mentor.id AS mentorId, m.mentee.id AS menteeId FROM Mentorship m " +
+           "WHERE m.status = :status AND m.id > :afterId ORDER BY m.id")
+    List<Request> findRequestsAfter(@Param("status") Mentorship.Status status, @Param("afterId") Long afterId,
+                                    Pageable page);
+
+    @Query("SELECT COUNT(m) FROM Mentorship m WHERE m.status = :status AND m.id > :afterId")
+    long countRequestsAfter(@Param("status") Mentorship.Status status, @Param("afterId") Long afterId);
+
+    @Query("SELECT m.mentee.id AS menteeId, m.mentor.id AS mentorId FROM Mentorship m " +
+           "WHERE m.mentee.id IN :menteeIds AND m.status = :status")
+    List<Pair> findPairsByMenteeIdInAndStatus(@Param("menteeIds") Collection<Long> menteeIds,
+                                              @Param("status") Mentorship.Status status);
+
+    interface Request {
+        Long getId();
+        Long getMentorId();
+        Long getMenteeId();
+    }
+
+    interface Pair {
+        Long getMenteeId();
+        Long getMentorId();
+    }
+
+    interface MentorRating {
+        Long getMentorId();
+        Double getRating();
+    }
+
+    interface Participants {
+        Long getMentorId();
+        Long getMenteeId();
+
+        default boolean includes(Long userId) {
+            return userId.equals(getMentorId()) || userId.equals(getMenteeId());
+        }
+
+        // Only meaningful for a participant; check includes() first
+        default Long counterpartOf(Long userId) {
+            return userId.equals(getMentorId()) ? getMenteeId() : getMentorId();
+        }
+    }
+
+    interface StatusAggregate {
+        Mentorship.Status getStatus();
+        Long getTotal();
+        Number getDurationDays();
+        Number getDurationSamples();
+    }
+
+    interface MentorCount {
+        Long getMentorId();
+        Long getTotal();
+    }
+
+    interface RiskCandidate {
+        Long getId();
+        LocalDateTime getLastInteraction();
+        LocalDateTime getStartDate();
+        Integer getMeetingsCompleted();
+    }
+
+    interface ParticipantNames {
+        Long getId();
+        String getMentorFirstName();
+        String getMentorLastName();
+        String getMenteeFirstName();
+        String getMenteeLastName();
+    }
+}
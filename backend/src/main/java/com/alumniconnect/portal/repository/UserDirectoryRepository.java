@@ -0,0 +1,126 @@
+package com.alumniconnect.portal.repository;
+
+import com.alumniconnect.portal.dto.DirectoryCursor;
+import com.alumniconnect.portal.dto.DirectoryQuery;
+import com.alumniconnect.portal.dto.UserSummary;
+import com.alumniconnect.portal.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtered, keyset-paginated user directory queries built with the Criteria
+ * API. Each order is made total by ending on id. Nullable sort columns put
+ * nulls first when ascending and last when descending, on the query side and
+ * the keyset side alike.
+ */
+@Repository
+public class UserDirectoryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Up to limit rows strictly after the cursor position (or from the start when cursor is null)
+    public List<UserSummary> findPage(DirectoryQuery query, DirectoryCursor cursor, int limit) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserSummary> criteria = cb.createQuery(UserSummary.class);
+        Root<User> u = criteria.from(User.class);
+        
+        criteria.select(cb.construct(UserSummary.class,
+            u.get("id"), u.get("firstName"), u.get("lastName"), u.get("email"), u.get("role"),
+            u.get("university"), u.get("graduationYear"), u.get("major"), u.get("currentCompany"),
+            u.get("position"), u.get("experience"), u.get("industry"), u.get("location"),
+            u.get("linkedinProfile"), u.get("profilePicture"), u.get("isVerified"), u.get("isActive"),
+            u.get("createdAt")));
+        
+        List<Expression<?>> keys = sortKeys(u, query.sort());
+        List<Predicate> predicates = filters(cb, u, query);
+        if (cursor != null) {
+            predicates.add(after(cb, keys, cursor.values(), query.descending()));
+        }
+        criteria.where(predicates.toArray(new Predicate[0]));
+        
+        List<Order> orders = new ArrayList<>(keys.size());
+        for (Expression<?> key : keys) {
+            // Descending reverses the ascending order exactly, nulls included
+            orders.add(query.descending() ? cb.desc(key, false) : cb.asc(key, true));
+        }
+        criteria.orderBy(orders);
+        
+        return entityManager.createQuery(criteria).setMaxResults(limit).getResultList();
+    }
+
+    public long count(DirectoryQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = cb.createQuery(Long.class);
+        Root<User> u = criteria.from(User.class);
+        criteria.select(cb.count(u)).where(filters(cb, u, query).toArray(new Predicate[0]));
+        return entityManager.createQuery(criteria).getSingleResult();
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<User> u, DirectoryQuery query) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (query.role() != null) predicates.add(cb.equal(u.get("role"), query.role()));
+        if (query.verified() != null) predicates.add(cb.equal(u.get("isVerified"), query.verified()));
+        if (query.active() != null) predicates.add(cb.equal(u.get("isActive"), query.active()));
+        if (query.university() != null) predicates.add(cb.equal(u.get("university"), query.university()));
+        if (query.industry() != null) predicates.add(cb.equal(u.get("industry"), query.industry()));
+        if (query.location() != null) predicates.add(cb.equal(u.get("location"), query.location()));
+        if (query.minGraduationYear() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(u.get("graduationYear"), query.minGraduationYear()));
+        }
+        if (query.maxGraduationYear() != null) {
+            predicates.add(cb.lessThanOrEqualTo(u.get("graduationYear"), query.maxGraduationYear()));
+        }
+        if (query.minExperience() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(u.get("experience"), query.minExperience()));
+        }
+        if (query.maxExperience() != null) {
+            predicates.add(cb.lessThanOrEqualTo(u.get("experience"), query.maxExperience()));
+        }
+        return predicates;
+    }
+
+    private static List<Expression<?>> sortKeys(Root<User> u, DirectoryQuery.Sort sort) {
+        return switch (sort) {
+            case ID -> List.of(u.get("id"));
+            case NAME -> List.of(u.get("lastName"), u.get("firstName"), u.get("id"));
+            case GRADUATION_YEAR -> List.of(u.get("graduationYear"), u.get("id"));
+            case EXPERIENCE -> List.of(u.get("experience"), u.get("id"));
+        };
+    }
+
+    // (k1, k2, ...) > (v1, v2, ...) lexicographically, expanded into ORs of equal prefixes
+    private static Predicate after(CriteriaBuilder cb, List<Expression<?>> keys, List<Comparable<?>> values, boolean descending) {
+        List<Predicate> alternatives = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            List<Predicate> conjunction = new ArrayList<>(i + 1);
+            for (int j = 0; j < i; j++) {
+                conjunction.add(equalTo(cb, keys.get(j), values.get(j)));
+            }
+            conjunction.add(strictlyAfter(cb, keys.get(i), values.get(i), descending));
+            alternatives.add(cb.and(conjunction.toArray(new Predicate[0])));
+        }
+        return cb.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    private static Predicate equalTo(CriteriaBuilder cb, Expression<?> key, Comparable<?> value) {
+        return value == null ? cb.isNull(key) : cb.equal(key, value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate strictlyAfter(CriteriaBuilder cb, Expression<?> key, Comparable<?> value, boolean descending) {
+        Expression<Comparable> column = (Expression<Comparable>) key;
+        if (!descending) {
+            // nulls first: everything non-null follows a null
+            return value == null ? cb.isNotNull(key) : cb.greaterThan(column, (Comparable) value);
+        }
+        // nulls last: nothing follows a null
+        return value == null ? cb.disjunction() : cb.or(cb.lessThan(column, (Comparable) value), cb.isNull(key));
+    }
+}
@@ -1,12 +1,21 @@
 package com.alumniconnect.portal.repository;
 
+import com.alumniconnect.portal.dto.UserSummary;
 import com.alumniconnect.portal.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -17,6 +26,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     List<User> findByRoleAndIsVerified(User.Role role, Boolean isVerified);
     
+    @Query(UserSummary.SELECT + "FROM User u WHERE u.role = ?1 AND u.isVerified = ?2 ORDER BY u.id")
+    List<UserSummary> findSummariesByRoleAndIsVerified(User.Role role, Boolean isVerified);
+    
+    @Query(UserSummary.SELECT + "FROM User u ORDER BY u.id")
+    List<UserSummary> findAllSummaries();
+    
+    @Query("SELECT u.id FROM User u WHERE u.role = 'ALUMNI' AND u.isVerified = true AND u.isActive = true")
+    List<Long> findAvailableAlumniIds();
+    
     List<User> findByIsActive(Boolean isActive);
     
     List<User> findByUniversity(String university);
@@ -28,11 +46,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.role = 'ALUMNI' AND u.isVerified = true AND u.isActive = true")
     List<User> findAvailableAlumni();
     
-    @Query("SELECT u FROM User u WHERE u.firstName LIKE %?1% OR u.lastName LIKE %?1%")
-    List<User> findByNameContaining(String name);
+    // Forward-only cursor over every user's name, for building NameSearchIndex; callers must close the stream
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.role AS role FROM User u")
+    Stream<UserNameEntry> streamNameEntries();
     
-    @Query("SELECT u FROM User u WHERE u.role = ?1 AND (u.firstName LIKE %?2% OR u.lastName LIKE %?2%)")
-    List<User> findByRoleAndNameContaining(User.Role role, String name);
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.lastLogin = ?2 WHERE u.id = ?1")
+    int updateLastLogin(Long id, LocalDateTime lastLogin);
     
     long countByRole(User.Role role);
     
@@ -40,4 +65,50 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     long countByIsActive(Boolean isActive);
 
+    @Query("SELECT u.industry AS label, COUNT(u) AS total FROM User u " +
+           "WHERE u.role = ?1 AND u.industry IS NOT NULL GROUP BY u.industry")
+    List<LabelCount> countByRoleGroupedByIndustry(User.Role role);
+
+    @Query("SELECT u.university AS label, COUNT(u) AS total FROM User u " +
+           "WHERE u.university IS NOT NULL GROUP BY u.university")
+    List<LabelCount> countGroupedByUniversity();
+
+    @Query("SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName FROM User u WHERE u.id IN ?1")
+    List<UserName> findNamesByIdIn(Collection<Long> ids);
+
+    // Profile fields the mentor recommendation engine scores on
+    @Query("SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.industry AS industry, " +
+           "u.major AS major, u.university AS university, u.location AS location, u.experience AS experience " +
+           "FROM User u WHERE u.role = 'ALUMNI' AND u.isVerified = true AND u.isActive = true ORDER BY u.id")
+    List<MentorProfile> findMentorProfiles();
+
+    interface MentorProfile {
+        Long getId();
+        String getFirstName();
+        String getLastName();
+        String getIndustry();
+        String getMajor();
+        String getUniversity();
+        String getLocation();
+        Integer getExperience();
+    }
+
+    interface UserNameEntry {
+        Long getId();
+        String getFirstName();
+        String getLastName();
+        User.Role getRole();
+    }
+
+    interface UserName {
+        Long getId();
+        String getFirstName();
+        String getLastName();
+    }
+
+    interface LabelCount {
+        String getLabel();
+        Long getTotal();
+    }
+
 }
\ No newline at end of file
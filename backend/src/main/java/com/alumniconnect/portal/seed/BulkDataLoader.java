@@ -0,0 +1,336 @@
+package com.alumniconnect.portal.seed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads synthetic users, mentorships, chats and meetings with plain JDBC batches.
+ *
+ * Ids are assigned here as contiguous ranges reserved from the entity
+ * sequences before anything is written, so a running application keeps
+ * drawing ids above the loaded rows; rows are split into ranges and written
+ * by a pool of parallel writers, one table at a time in foreign-key order
+ * (chats and meetings are written together once their mentorships exist).
+ * On MySQL add rewriteBatchedStatements=true to the JDBC URL to get
+ * multi-row inserts.
+ *
+ * On MySQL the reservation is a compare-and-set on the sequence table, the
+ * same protocol Hibernate uses, so it is safe while the application runs.
+ * Native sequences (H2) are read and then restarted in two statements; an
+ * id block drawn by another instance in between could collide, so load
+ * those databases before the application takes writes, as the benchmarks do.
+ */
+@Service
+public class BulkDataLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDataLoader.class);
+
+    private static final String INSERT_USER =
+        "INSERT INTO users (id, first_name, last_name, email, password, role, university, graduation_year, " +
+        "major, current_company, position, experience, industry, location, is_verified, is_active, " +
+        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_MENTORSHIP =
+        "INSERT INTO mentorships (id, mentor_id, mentee_id, domain, status, mentor_rating, mentee_rating, " +
+        "start_date, end_date, last_interaction, meetings_completed, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CHAT =
+        "INSERT INTO chats (id, mentorship_id, sender_id, content, message_type, is_read, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_MEETING =
+        "INSERT INTO meetings (id, mentorship_id, organizer_id, participant_id, title, scheduled_date, duration, " +
+        "meeting_type, status, reminder_sent, reminder_time, organizer_joined, participant_joined, " +
+        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Must match the allocationSize of the entities' @SequenceGenerator
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public Map<String, Object> load(int users, int mentorships, long chats, long meetings,
+                                    int batchSize, int writers, long seed) {
+        if (batchSize < 1 || writers < 1) {
+            throw new IllegalArgumentException("batchSize and writers must be positive");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        boolean tableSequences = "MySQL".equalsIgnoreCase(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+            connection.getMetaData().getDatabaseProductName()));
+        long userBase = reserveIds("users", users, tableSequences);
+        long mentorshipBase = reserveIds("mentorships", mentorships, tableSequences);
+        long chatBase = reserveIds("chats", chats, tableSequences);
+        long meetingBase = reserveIds("meetings", meetings, tableSequences);
+        SyntheticDataGenerator generator =
+            new SyntheticDataGenerator(seed, users, mentorships, userBase, mentorshipBase, now);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            report.put("users", write(pool, "users", users, batchSize, writers,
+                (start, count) -> insertUsers(generator, start, count)));
+
+            if (generator.canLinkUsers()) {
+                report.put("mentorships", write(pool, "mentorships", mentorships, batchSize, writers,
+                    (start, count) -> insertMentorships(generator, start, count)));
+            }
+
+            if (generator.canLinkUsers() && mentorships > 0) {
+                // Chats and meetings only reference users and mentorships, so they share one phase
+                List<Future<?>> phase = new ArrayList<>();
+                Map<String, Object> chatReport = new LinkedHashMap<>();
+                Map<String, Object> meetingReport = new LinkedHashMap<>();
+                long phaseStart = System.nanoTime();
+                submitRanges(pool, phase, chats, batchSize, writers,
+                    (start, count) -> insertChats(generator, chatBase, start, count));
+                submitRanges(pool, phase, meetings, batchSize, writers,
+                    (start, count) -> insertMeetings(generator, meetingBase, start, count));
+                await(phase);
+                double seconds = (System.nanoTime() - phaseStart) / 1_000_000_000.0;
+                chatReport.put("rows", chats);
+                chatReport.put("seconds", seconds);
+                meetingReport.put("rows", meetings);
+                meetingReport.put("seconds", seconds);
+                report.put("chatAndMeetingRowsPerSecond",
+                    seconds > 0 ? Math.round((chats + meetings) / seconds) : chats + meetings);
+                report.put("chats", chatReport);
+                report.put("meetings", meetingReport);
+                log.info("Loaded {} chats and {} meetings in {} s", chats, meetings, String.format("%.1f", seconds));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        report.put("firstUserId", userBase);
+        report.put("firstMentorshipId", mentorshipBase);
+        return report;
+    }
+
+    private Map<String, Object> write(ExecutorService pool, String table, long rows, int batchSize, int writers,
+                                      RangeWriter writer) {
+        long started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        submitRanges(pool, futures, rows, batchSize, writers, writer);
+        await(futures);
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        Map<String, Object> tableReport = new LinkedHashMap<>();
+        tableReport.put("rows", rows);
+        tableReport.put("seconds", seconds);
+        tableReport.put("rowsPerSecond", seconds > 0 ? Math.round(rows / seconds) : rows);
+        log.info("Loaded {} {} in {} s", rows, table, String.format("%.1f", seconds));
+        return tableReport;
+    }
+
+    private void submitRanges(ExecutorService pool, List<Future<?>> futures, long rows, int batchSize,
+                              int writers, RangeWriter writer) {
+        // A few ranges per writer keeps the pool busy without tiny tasks
+        long rangeSize = Math.max(batchSize, (rows + writers * 4L - 1) / (writers * 4L));
+        for (long start = 0; start < rows; start += rangeSize) {
+            long rangeStart = start;
+            long rangeEnd = Math.min(rows, start + rangeSize);
+            futures.add(pool.submit(() -> {
+                for (long batchStart = rangeStart; batchStart < rangeEnd; batchStart += batchSize) {
+                    writer.write(batchStart, (int) Math.min(batchSize, rangeEnd - batchStart));
+                }
+            }));
+        }
+    }
+
+    private void await(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bulk load interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Bulk load failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void insertUsers(SyntheticDataGenerator generator, long start, int count) {
+        jdbcTemplate.batchUpdate(INSERT_USER, new RowSetter(count) {
+            @Override
+            void set(PreparedStatement ps, long row) throws SQLException {
+                int i = (int) row;
+                Timestamp createdAt = Timestamp.valueOf(generator.userCreatedAt(i));
+                ps.setLong(1, generator.userId(i));
+                ps.setString(2, generator.firstName(i));
+                ps.setString(3, generator.lastName(i));
+                ps.setString(4, generator.email(i));
+                ps.setString(5, generator.password(i));
+                ps.setString(6, generator.role(i).name());
+                ps.setString(7, generator.university(i));
+                ps.setInt(8, generator.graduationYear(i));
+                ps.setString(9, generator.major(i));
+                ps.setString(10, generator.currentCompany(i));
+                ps.setString(11, generator.position(i));
+                ps.setInt(12, generator.experience(i));
+                ps.setString(13, generator.industry(i));
+                ps.setString(14, generator.location(i));
+                ps.setBoolean(15, generator.isVerified(i));
+                ps.setBoolean(16, true);
+                ps.setTimestamp(17, createdAt);
+                ps.setTimestamp(18, createdAt);
+            }
+        }.from(start));
+    }
+
+    private void insertMentorships(SyntheticDataGenerator generator, long start, int count) {
+        jdbcTemplate.batchUpdate(INSERT_MENTORSHIP, new RowSetter(count) {
+            @Override
+            void set(PreparedStatement ps, long row) throws SQLException {
+                int i = (int) row;
+                Timestamp createdAt = Timestamp.valueOf(generator.mentorshipCreatedAt(i));
+                ps.setLong(1, generator.mentorshipId(i));
+                ps.setLong(2, generator.mentorId(i));
+                ps.setLong(3, generator.menteeId(i));
+                ps.setString(4, generator.domain(i));
+                ps.setString(5, generator.mentorshipStatus(i).name());
+                setInteger(ps, 6, generator.mentorRating(i));
+                setInteger(ps, 7, generator.menteeRating(i));
+                setTimestamp(ps, 8, generator.startDate(i));
+                setTimestamp(ps, 9, generator.endDate(i));
+                setTimestamp(ps, 10, generator.lastInteraction(i));
+                ps.setInt(11, generator.meetingsCompleted(i));
+                ps.setTimestamp(12, createdAt);
+                ps.setTimestamp(13, createdAt);
+            }
+        }.from(start));
+    }
+
+    private void insertChats(SyntheticDataGenerator generator, long idBase, long start, int count) {
+        jdbcTemplate.batchUpdate(INSERT_CHAT, new RowSetter(count) {
+            @Override
+            void set(PreparedStatement ps, long row) throws SQLException {
+                ps.setLong(1, idBase + row);
+                ps.setLong(2, generator.mentorshipId(generator.chatMentorship(row)));
+                ps.setLong(3, generator.chatSenderId(row));
+                ps.setString(4, generator.chatContent(row));
+                ps.setString(5, generator.chatMessageType(row).name());
+                ps.setBoolean(6, generator.chatIsRead(row));
+                ps.setTimestamp(7, Timestamp.valueOf(generator.chatCreatedAt(row)));
+            }
+        }.from(start));
+    }
+
+    private void insertMeetings(SyntheticDataGenerator generator, long idBase, long start, int count) {
+        jdbcTemplate.batchUpdate(INSERT_MEETING, new RowSetter(count) {
+            @Override
+            void set(PreparedStatement ps, long row) throws SQLException {
+                int mentorship = generator.meetingMentorship(row);
+                LocalDateTime scheduledDate = generator.meetingScheduledDate(row);
+                Timestamp createdAt = Timestamp.valueOf(scheduledDate.minusDays(7));
+                ps.setLong(1, idBase + row);
+                ps.setLong(2, generator.mentorshipId(mentorship));
+                ps.setLong(3, generator.mentorId(mentorship));
+                ps.setLong(4, generator.menteeId(mentorship));
+                ps.setString(5, generator.meetingTitle(row));
+                ps.setTimestamp(6, Timestamp.valueOf(scheduledDate));
+                ps.setInt(7, generator.meetingDuration(row));
+                ps.setString(8, generator.meetingType(row).name());
+                ps.setString(9, generator.meetingStatus(row).name());
+                ps.setBoolean(10, scheduledDate.isBefore(LocalDateTime.now()));
+                ps.setTimestamp(11, Timestamp.valueOf(scheduledDate.minusMinutes(30)));
+                ps.setBoolean(12, false);
+                ps.setBoolean(13, false);
+                ps.setTimestamp(14, createdAt);
+                ps.setTimestamp(15, createdAt);
+            }
+        }.from(start));
+    }
+
+    // Reserves count contiguous ids from the table's sequence and returns the first. Hibernate's
+    // pooled optimizer treats each value the sequence returns as the top of a block of
+    // ID_ALLOCATION_SIZE ids, so every block handed out so far lies below the sequence's next
+    // value, and moving it past the range plus one block keeps future blocks above it.
+    private long reserveIds(String table, long count, boolean tableSequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        long firstFree = maxId == null ? 1 : maxId + 1;
+        if (tableSequence) {
+            // MySQL has no sequences; Hibernate emulates them with a one-row table
+            while (true) {
+                Long current = jdbcTemplate.queryForObject("SELECT next_val FROM " + table + "_seq", Long.class);
+                long base = Math.max(current, firstFree);
+                if (jdbcTemplate.update("UPDATE " + table + "_seq SET next_val = ? WHERE next_val = ?",
+                        base + count + ID_ALLOCATION_SIZE, current) == 1) {
+                    return base;
+                }
+            }
+        }
+        Long current = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + table + "_seq", Long.class);
+        long base = Math.max(current, firstFree);
+        jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (base + count + ID_ALLOCATION_SIZE));
+        return base;
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeWriter {
+        void write(long start, int count);
+    }
+
+    private abstract static class RowSetter implements BatchPreparedStatementSetter {
+        private final int count;
+        private long start;
+
+        RowSetter(int count) {
+            this.count = count;
+        }
+
+        RowSetter from(long start) {
+            this.start = start;
+            return this;
+        }
+
+        abstract void set(PreparedStatement ps, long row) throws SQLException;
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            set(ps, start + i);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.alumniconnect.portal.seed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Seeds a large synthetic dataset at startup for load testing, e.g.
+ * mvn spring-boot:run -Dspring-boot.run.arguments="--seed.enabled=true --seed.users=1000000"
+ */
+@Component
+@ConditionalOnProperty(name = "seed.enabled", havingValue = "true")
+public class SeedDataRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedDataRunner.class);
+
+    @Autowired
+    private BulkDataLoader bulkDataLoader;
+
+    @Value("${seed.users:1000000}")
+    private int users;
+
+    @Value("${seed.mentorships:500000}")
+    private int mentorships;
+
+    @Value("${seed.chats:20000000}")
+    private long chats;
+
+    @Value("${seed.meetings:2000000}")
+    private long meetings;
+
+    @Value("${seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${seed.writers:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int writers;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Seeding {} users, {} mentorships, {} chats, {} meetings (batch size {}, {} writers)",
+            users, mentorships, chats, meetings, batchSize, writers);
+        Map<String, Object> report = bulkDataLoader.load(users, mentorships, chats, meetings,
+            batchSize, writers, randomSeed);
+        log.info("Seeding finished: {}", report);
+    }
+}
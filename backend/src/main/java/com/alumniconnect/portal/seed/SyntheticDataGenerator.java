@@ -0,0 +1,239 @@
+package com.alumniconnect.portal.seed;
+
+import com.alumniconnect.portal.entity.Chat;
+import com.alumniconnect.portal.entity.Meeting;
+import com.alumniconnect.portal.entity.Mentorship;
+import com.alumniconnect.portal.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deterministic, stateless source of synthetic rows.
+ *
+ * Every value is derived from (seed, row index), so any writer thread can
+ * produce any row without coordination, and foreign keys always point at rows
+ * the generator also produces: every fourth user is an alumnus, mentorships
+ * pair an alumnus with a student, and chats and meetings belong to a mentorship
+ * and are sent or organized by one of its two participants.
+ */
+public class SyntheticDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Aisha", "Ana", "Ben", "Chen", "Diego", "Elena", "Fatima", "Hiro", "Ines",
+        "James", "Kavya", "Liam", "Maya", "Noah", "Olga", "Priya", "Rahul", "Sara", "Yusuf"
+    };
+    private static final String[] LAST_NAMES = {
+        "Ahmed", "Brown", "Chen", "Das", "Garcia", "Ivanova", "Khan", "Kim", "Lopez", "Menon",
+        "Nair", "Novak", "Okafor", "Patel", "Rossi", "Sato", "Silva", "Smith", "Tanaka", "Weber"
+    };
+    private static final String[] UNIVERSITIES = {
+        "Anna University", "IIT Madras", "IIT Bombay", "NIT Trichy", "VIT Vellore",
+        "BITS Pilani", "Stanford University", "MIT", "University of Toronto", "TU Munich"
+    };
+    private static final String[] INDUSTRIES = {
+        "Software", "Finance", "Healthcare", "Consulting", "Manufacturing",
+        "Education", "Telecom", "Energy", "Retail", "Government"
+    };
+    private static final String[] MAJORS = {
+        "Computer Science", "Electrical Engineering", "Mechanical Engineering", "Economics",
+        "Mathematics", "Physics", "Civil Engineering", "Business Administration", "Biotechnology", "Design"
+    };
+    private static final String[] LOCATIONS = {
+        "Chennai", "Bangalore", "Mumbai", "Hyderabad", "Delhi", "Pune",
+        "San Francisco", "New York", "London", "Singapore", "Berlin", "Toronto"
+    };
+    private static final String[] COMPANIES = {
+        "Infosys", "TCS", "Google", "Microsoft", "Amazon", "Zoho", "Deloitte", "Goldman Sachs", "Siemens", "Flipkart"
+    };
+    private static final String[] MESSAGES = {
+        "Thanks for the session today!",
+        "Could we go over my resume this week?",
+        "I've shared the notes from our last call.",
+        "What would you recommend for interview preparation?",
+        "Let's plan the next milestone.",
+        "I finished the project you suggested.",
+        "Can we move our meeting to Friday?",
+        "Here is the link to the course I mentioned."
+    };
+    private static final Mentorship.Status[] MENTORSHIP_STATUSES = {
+        Mentorship.Status.ACTIVE, Mentorship.Status.ACTIVE, Mentorship.Status.ACTIVE,
+        Mentorship.Status.COMPLETED, Mentorship.Status.COMPLETED,
+        Mentorship.Status.PENDING, Mentorship.Status.CANCELLED, Mentorship.Status.REJECTED
+    };
+
+    private final long seed;
+    private final int users;
+    private final int alumniCount;
+    private final int studentCount;
+    private final int mentorships;
+    private final long userBaseId;
+    private final long mentorshipBaseId;
+    private final LocalDateTime now;
+
+    public SyntheticDataGenerator(long seed, int users, int mentorships,
+                                  long userBaseId, long mentorshipBaseId, LocalDateTime now) {
+        this.seed = seed;
+        this.users = users;
+        this.alumniCount = (users + 3) / 4;
+        this.studentCount = users - alumniCount;
+        this.mentorships = mentorships;
+        this.userBaseId = userBaseId;
+        this.mentorshipBaseId = mentorshipBaseId;
+        this.now = now;
+    }
+
+    public int getUsers() { return users; }
+
+    public int getMentorships() { return mentorships; }
+
+    public boolean canLinkUsers() { return alumniCount > 0 && studentCount > 0; }
+
+    // ---- users ----
+
+    public long userId(int index) { return userBaseId + index; }
+
+    public User.Role role(int index) { return index % 4 == 0 ? User.Role.ALUMNI : User.Role.STUDENT; }
+
+    public String firstName(int index) { return pick(FIRST_NAMES, index, 1); }
+
+    public String lastName(int index) { return pick(LAST_NAMES, index, 2); }
+
+    public String email(int index) { return "user" + userId(index) + "@seed.alumniconnect.local"; }
+
+    public String password(int index) { return "password"; }
+
+    public String university(int index) { return pick(UNIVERSITIES, index, 3); }
+
+    public int graduationYear(int index) {
+        return role(index) == User.Role.ALUMNI ? 1990 + bounded(index, 4, 34) : now.getYear() + bounded(index, 4, 4);
+    }
+
+    public String major(int index) { return pick(MAJORS, index, 5); }
+
+    public String currentCompany(int index) {
+        return role(index) == User.Role.ALUMNI ? pick(COMPANIES, index, 6) : null;
+    }
+
+    public String position(int index) {
+        return role(index) == User.Role.ALUMNI ? (bounded(index, 7, 2) == 0 ? "Engineer" : "Manager") : null;
+    }
+
+    public int experience(int index) {
+        return role(index) == User.Role.ALUMNI ? 1 + bounded(index, 8, 30) : 0;
+    }
+
+    public String industry(int index) { return pick(INDUSTRIES, index, 9); }
+
+    public String location(int index) { return pick(LOCATIONS, index, 10); }
+
+    public boolean isVerified(int index) {
+        // Students are auto-verified; nine in ten alumni have been verified by an admin
+        return role(index) == User.Role.STUDENT || bounded(index, 11, 10) != 0;
+    }
+
+    public LocalDateTime userCreatedAt(int index) { return now.minusDays(bounded(index, 12, 1500)); }
+
+    // ---- mentorships ----
+
+    public long mentorshipId(int index) { return mentorshipBaseId + index; }
+
+    public long mentorId(int mentorshipIndex) {
+        int alumnus = bounded(mentorshipIndex, 20, alumniCount);
+        return userId(alumnus * 4);
+    }
+
+    public long menteeId(int mentorshipIndex) {
+        int student = bounded(mentorshipIndex, 21, studentCount);
+        // Students fill the user indexes that are not multiples of four
+        return userId(student + student / 3 + 1);
+    }
+
+    public Mentorship.Status mentorshipStatus(int index) {
+        return MENTORSHIP_STATUSES[bounded(index, 22, MENTORSHIP_STATUSES.length)];
+    }
+
+    public String domain(int index) { return pick(INDUSTRIES, index, 23); }
+
+    public LocalDateTime startDate(int index) {
+        return mentorshipStatus(index) == Mentorship.Status.PENDING ? null : now.minusDays(bounded(index, 24, 400));
+    }
+
+    public LocalDateTime endDate(int index) {
+        return mentorshipStatus(index) == Mentorship.Status.COMPLETED
+            ? startDate(index).plusDays(30 + bounded(index, 25, 200)) : null;
+    }
+
+    public LocalDateTime lastInteraction(int index) {
+        return mentorshipStatus(index) == Mentorship.Status.PENDING ? null : now.minusDays(bounded(index, 26, 45));
+    }
+
+    public Integer mentorRating(int index) {
+        return mentorshipStatus(index) == Mentorship.Status.COMPLETED ? 1 + bounded(index, 27, 5) : null;
+    }
+
+    public Integer menteeRating(int index) {
+        return mentorshipStatus(index) == Mentorship.Status.COMPLETED ? 1 + bounded(index, 28, 5) : null;
+    }
+
+    public int meetingsCompleted(int index) {
+        return mentorshipStatus(index) == Mentorship.Status.PENDING ? 0 : bounded(index, 29, 12);
+    }
+
+    public LocalDateTime mentorshipCreatedAt(int index) { return now.minusDays(400 + bounded(index, 30, 30)); }
+
+    // ---- chats ----
+
+    public int chatMentorship(long chatIndex) { return bounded(chatIndex, 40, mentorships); }
+
+    public long chatSenderId(long chatIndex) {
+        int mentorship = chatMentorship(chatIndex);
+        return bounded(chatIndex, 41, 2) == 0 ? mentorId(mentorship) : menteeId(mentorship);
+    }
+
+    public String chatContent(long chatIndex) { return pick(MESSAGES, chatIndex, 42); }
+
+    public Chat.MessageType chatMessageType(long chatIndex) { return Chat.MessageType.TEXT; }
+
+    public boolean chatIsRead(long chatIndex) { return bounded(chatIndex, 43, 5) != 0; }
+
+    public LocalDateTime chatCreatedAt(long chatIndex) { return now.minusMinutes(bounded(chatIndex, 44, 60 * 24 * 365)); }
+
+    // ---- meetings ----
+
+    public int meetingMentorship(long meetingIndex) { return bounded(meetingIndex, 50, mentorships); }
+
+    public String meetingTitle(long meetingIndex) { return "Mentoring session " + (meetingIndex + 1); }
+
+    public LocalDateTime meetingScheduledDate(long meetingIndex) {
+        return now.plusHours(bounded(meetingIndex, 51, 24 * 120) - 24 * 60);
+    }
+
+    public int meetingDuration(long meetingIndex) { return 30 + 15 * bounded(meetingIndex, 52, 5); }
+
+    public Meeting.MeetingType meetingType(long meetingIndex) {
+        return Meeting.MeetingType.values()[bounded(meetingIndex, 53, Meeting.MeetingType.values().length)];
+    }
+
+    public Meeting.Status meetingStatus(long meetingIndex) {
+        return meetingScheduledDate(meetingIndex).isBefore(now)
+            ? (bounded(meetingIndex, 54, 8) == 0 ? Meeting.Status.CANCELLED : Meeting.Status.COMPLETED)
+            : Meeting.Status.SCHEDULED;
+    }
+
+    // ---- hashing ----
+
+    private String pick(String[] values, long index, int salt) {
+        return values[bounded(index, salt, values.length)];
+    }
+
+    private int bounded(long index, int salt, int bound) {
+        return (int) Long.remainderUnsigned(mix(index * 0x9E3779B97F4A7C15L + salt * 0xBF58476D1CE4E5B9L + seed), bound);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
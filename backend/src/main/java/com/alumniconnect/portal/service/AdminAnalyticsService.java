@@ -5,12 +5,14 @@ import com.alumniconnect.portal.entity.User;
 import com.alumniconnect.portal.repository.MentorshipRepository;
 import com.alumniconnect.portal.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AdminAnalyticsService {
@@ -21,44 +23,64 @@ public class AdminAnalyticsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MentorLoadIndex mentorLoadIndex;
+
+    @Value("${mentorships.max-active-per-mentor:3}")
+    private int maxActiveMentorships;
+
+    private static final int HIGH_RISK_SCORE = 70;
+    private static final int AT_RISK_SCORE = 50;
+    private static final int DEFAULT_RISK_PAGE_SIZE = 50;
+    private static final int MAX_RISK_PAGE_SIZE = 500;
+
     public Map<String, Object> getMentorshipContinuityMetrics() {
         Map<String, Object> metrics = new HashMap<>();
         
-        List<Mentorship> allMentorships = mentorshipRepository.findAll();
+        // Single grouped query: status histogram plus duration sums, no entities loaded
+        long totalMentorships = 0;
+        long completedMentorships = 0;
+        long droppedMentorships = 0;
+        long activeMentorships = 0;
+        long durationDays = 0;
+        long durationSamples = 0;
+        
+        for (MentorshipRepository.StatusAggregate row : mentorshipRepository.aggregateByStatus()) {
+            long count = row.getTotal() != null ? row.getTotal() : 0;
+            totalMentorships += count;
+            
+            if (row.getDurationDays() != null) {
+                durationDays += row.getDurationDays().longValue();
+            }
+            if (row.getDurationSamples() != null) {
+                durationSamples += row.getDurationSamples().longValue();
+            }
+            
+            if (row.getStatus() == Mentorship.Status.COMPLETED) {
+                completedMentorships = count;
+            } else if (row.getStatus() == Mentorship.Status.CANCELLED) {
+                droppedMentorships = count;
+            } else if (row.getStatus() == Mentorship.Status.ACTIVE) {
+                activeMentorships = count;
+            }
+        }
         
         // Calculate average mentorship duration
-        double avgDuration = allMentorships.stream()
-            .filter(m -> m.getStartDate() != null && m.getEndDate() != null)
-            .mapToLong(m -> ChronoUnit.DAYS.between(m.getStartDate(), m.getEndDate()))
-            .average()
-            .orElse(0.0);
+        double avgDuration = durationSamples == 0 ? 0.0 : (double) durationDays / durationSamples;
         
         // Calculate completion rate
-        long completedMentorships = allMentorships.stream()
-            .filter(m -> m.getStatus() == Mentorship.Status.COMPLETED)
-            .count();
-        
-        double completionRate = allMentorships.isEmpty() ? 0 : 
-            (double) completedMentorships / allMentorships.size() * 100;
+        double completionRate = totalMentorships == 0 ? 0 : 
+            (double) completedMentorships / totalMentorships * 100;
         
         // Calculate dropout rate
-        long droppedMentorships = allMentorships.stream()
-            .filter(m -> m.getStatus() == Mentorship.Status.CANCELLED)
-            .count();
-        
-        double dropoutRate = allMentorships.isEmpty() ? 0 : 
-            (double) droppedMentorships / allMentorships.size() * 100;
-        
-        // Active mentorships trend
-        long activeMentorships = allMentorships.stream()
-            .filter(m -> m.getStatus() == Mentorship.Status.ACTIVE)
-            .count();
+        double dropoutRate = totalMentorships == 0 ? 0 : 
+            (double) droppedMentorships / totalMentorships * 100;
         
         metrics.put("averageDurationDays", Math.round(avgDuration));
         metrics.put("completionRate", Math.round(completionRate * 100) / 100.0);
         metrics.put("dropoutRate", Math.round(dropoutRate * 100) / 100.0);
         metrics.put("activeMentorships", activeMentorships);
-        metrics.put("totalMentorships", allMentorships.size());
+        metrics.put("totalMentorships", totalMentorships);
         
         return metrics;
     }
@@ -105,68 +127,147 @@ public class AdminAnalyticsService {
         return metrics;
     }
 
+    // Self-invocation bypasses the proxy on the overload, so the streaming query needs its own transaction here
+    @Transactional(readOnly = true)
     public Map<String, Object> getPredictiveRiskAnalysis() {
+        return getPredictiveRiskAnalysis(null, DEFAULT_RISK_PAGE_SIZE, AT_RISK_SCORE);
+    }
+
+    // Scores ACTIVE mentorships over a forward-only cursor; only the requested page is kept in memory.
+    // The first page scans them all for the totals; later pages (afterId set) seek past afterId,
+    // stop once the page is full and leave the totals out
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPredictiveRiskAnalysis(Long afterId, int limit, int minScore) {
         Map<String, Object> riskAnalysis = new HashMap<>();
         
-        List<Mentorship> activeMentorships = mentorshipRepository.findByStatus(Mentorship.Status.ACTIVE);
-        List<Map<String, Object>> atRiskMentorships = new ArrayList<>();
+        int pageSize = Math.max(1, Math.min(limit, MAX_RISK_PAGE_SIZE));
+        LocalDateTime now = LocalDateTime.now();
+        boolean firstPage = afterId == null;
+        
+        long activeMentorships = 0;
+        long totalAtRisk = 0;
+        boolean hasMore = false;
+        List<MentorshipRepository.RiskCandidate> page = new ArrayList<>();
+        
+        try (Stream<MentorshipRepository.RiskCandidate> rows =
+                 mentorshipRepository.streamRiskCandidates(Mentorship.Status.ACTIVE, firstPage ? 0L : afterId)) {
+            Iterator<MentorshipRepository.RiskCandidate> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                MentorshipRepository.RiskCandidate row = iterator.next();
+                activeMentorships++;
+                
+                int riskScore = calculateRiskScore(row, now, null);
+                if (riskScore >= AT_RISK_SCORE) {
+                    totalAtRisk++;
+                }
+                
+                if (riskScore < minScore) {
+                    continue;
+                }
+                if (page.size() < pageSize) {
+                    page.add(row);
+                } else {
+                    hasMore = true;
+                    if (!firstPage) break;
+                }
+            }
+        }
         
-        for (Mentorship mentorship : activeMentorships) {
-            Map<String, Object> riskFactors = new HashMap<>();
-            int riskScore = 0;
+        // Names are only looked up for the page being returned
+        Map<Long, MentorshipRepository.ParticipantNames> namesById = new HashMap<>();
+        if (!page.isEmpty()) {
+            List<Long> pageIds = new ArrayList<>();
+            for (MentorshipRepository.RiskCandidate row : page) {
+                pageIds.add(row.getId());
+            }
+            for (MentorshipRepository.ParticipantNames names : mentorshipRepository.findParticipantNames(pageIds)) {
+                namesById.put(names.getId(), names);
+            }
+        }
+        
+        List<Map<String, Object>> atRiskMentorships = new ArrayList<>();
+        for (MentorshipRepository.RiskCandidate row : page) {
             List<String> riskReasons = new ArrayList<>();
+            int riskScore = calculateRiskScore(row, now, riskReasons);
+            MentorshipRepository.ParticipantNames names = namesById.get(row.getId());
             
-            // Check last interaction
-            if (mentorship.getLastInteraction() != null) {
-                long daysSinceLastInteraction = ChronoUnit.DAYS.between(
-                    mentorship.getLastInteraction(), LocalDateTime.now());
-                
-                if (daysSinceLastInteraction > 14) {
-                    riskScore += 30;
+            Map<String, Object> riskFactors = new HashMap<>();
+            riskFactors.put("mentorshipId", row.getId());
+            if (names != null) {
+                riskFactors.put("mentorName", names.getMentorFirstName() + " " + names.getMentorLastName());
+                riskFactors.put("menteeName", names.getMenteeFirstName() + " " + names.getMenteeLastName());
+            }
+            riskFactors.put("riskScore", riskScore);
+            riskFactors.put("riskLevel", riskScore >= HIGH_RISK_SCORE ? "HIGH"
+                : riskScore >= AT_RISK_SCORE ? "MEDIUM" : "LOW");
+            riskFactors.put("riskReasons", riskReasons);
+            
+            atRiskMentorships.add(riskFactors);
+        }
+        
+        riskAnalysis.put("atRiskMentorships", atRiskMentorships);
+        if (firstPage) {
+            riskAnalysis.put("totalAtRisk", totalAtRisk);
+            riskAnalysis.put("riskPercentage", activeMentorships == 0 ? 0 : 
+                Math.round((double) totalAtRisk / activeMentorships * 100));
+        }
+        riskAnalysis.put("minScore", minScore);
+        riskAnalysis.put("hasMore", hasMore);
+        riskAnalysis.put("nextCursor", hasMore ? page.get(page.size() - 1).getId() : null);
+        
+        return riskAnalysis;
+    }
+
+    private static Map<String, Long> toDistribution(List<UserRepository.LabelCount> rows) {
+        Map<String, Long> distribution = new HashMap<>();
+        for (UserRepository.LabelCount row : rows) {
+            distribution.put(row.getLabel(), row.getTotal());
+        }
+        return distribution;
+    }
+
+    private int calculateRiskScore(MentorshipRepository.RiskCandidate mentorship, LocalDateTime now,
+                                   List<String> riskReasons) {
+        int riskScore = 0;
+        
+        // Check last interaction
+        if (mentorship.getLastInteraction() != null) {
+            long daysSinceLastInteraction = ChronoUnit.DAYS.between(mentorship.getLastInteraction(), now);
+            
+            if (daysSinceLastInteraction > 14) {
+                riskScore += 30;
+                if (riskReasons != null) {
                     riskReasons.add("No interaction for " + daysSinceLastInteraction + " days");
                 }
-            } else {
-                riskScore += 40;
+            }
+        } else {
+            riskScore += 40;
+            if (riskReasons != null) {
                 riskReasons.add("No recorded interactions");
             }
+        }
+        
+        // Check mentorship duration
+        if (mentorship.getStartDate() != null) {
+            long mentorshipDays = ChronoUnit.DAYS.between(mentorship.getStartDate(), now);
             
-            // Check mentorship duration
-            if (mentorship.getStartDate() != null) {
-                long mentorshipDays = ChronoUnit.DAYS.between(
-                    mentorship.getStartDate(), LocalDateTime.now());
-                
-                if (mentorshipDays > 180) { // 6 months
-                    riskScore += 20;
+            if (mentorshipDays > 180) { // 6 months
+                riskScore += 20;
+                if (riskReasons != null) {
                     riskReasons.add("Long-running mentorship (" + mentorshipDays + " days)");
                 }
             }
-            
-            // Check meeting completion
-            if (mentorship.getMeetingsCompleted() != null && mentorship.getMeetingsCompleted() < 2) {
-                riskScore += 25;
+        }
+        
+        // Check meeting completion
+        if (mentorship.getMeetingsCompleted() != null && mentorship.getMeetingsCompleted() < 2) {
+            riskScore += 25;
+            if (riskReasons != null) {
                 riskReasons.add("Low meeting frequency");
             }
-            
-            if (riskScore >= 50) {
-                riskFactors.put("mentorshipId", mentorship.getId());
-                riskFactors.put("mentorName", mentorship.getMentor().getFirstName() + " " + 
-                    mentorship.getMentor().getLastName());
-                riskFactors.put("menteeName", mentorship.getMentee().getFirstName() + " " + 
-                    mentorship.getMentee().getLastName());
-                riskFactors.put("riskScore", riskScore);
-                riskFactors.put("riskLevel", riskScore >= 70 ? "HIGH" : "MEDIUM");
-                riskFactors.put("riskReasons", riskReasons);
-                
-                atRiskMentorships.add(riskFactors);
-            }
         }
         
-        riskAnalysis.put("atRiskMentorships", atRiskMentorships);
-        riskAnalysis.put("totalAtRisk", atRiskMentorships.size());
-        riskAnalysis.put("riskPercentage", activeMentorships.isEmpty() ? 0 : 
-            Math.round((double) atRiskMentorships.size() / activeMentorships.size() * 100));
-        
-        return riskAnalysis;
+        return riskScore;
     }
 
     public Map<String, Object> getMentorLoadBalancingData() {
@@ -176,25 +277,22 @@ public class AdminAnalyticsService {
         List<Map<String, Object>> mentorLoads = new ArrayList<>();
         
         for (User mentor : mentors) {
-            List<Mentorship> activeMentorships = mentorshipRepository.findByMentorId(mentor.getId())
-                .stream()
-                .filter(m -> m.getStatus() == Mentorship.Status.ACTIVE)
-                .collect(Collectors.toList());
+            int currentLoad = mentorLoadIndex.getLoad(mentor.getId());
             
             Map<String, Object> mentorLoad = new HashMap<>();
             mentorLoad.put("mentorId", mentor.getId());
             mentorLoad.put("mentorName", mentor.getFirstName() + " " + mentor.getLastName());
-            mentorLoad.put("currentLoad", activeMentorships.size());
+            mentorLoad.put("currentLoad", currentLoad);
             mentorLoad.put("industry", mentor.getIndustry());
             mentorLoad.put("experience", mentor.getExperience());
             
             // Calculate load status
             String loadStatus;
-            if (activeMentorships.size() == 0) {
+            if (currentLoad == 0) {
                 loadStatus = "AVAILABLE";
-            } else if (activeMentorships.size() <= 2) {
+            } else if (currentLoad <= 2) {
                 loadStatus = "OPTIMAL";
-            } else if (activeMentorships.size() <= 4) {
+            } else if (currentLoad <= 4) {
                 loadStatus = "HIGH";
             } else {
                 loadStatus = "OVERLOADED";
@@ -235,17 +333,13 @@ public class AdminAnalyticsService {
         growthMetrics.put("engagementRate", totalUsers > 0 ? 
             Math.round((double) activeMentorships / totalUsers * 100) : 0);
         
-        // Industry distribution
-        Map<String, Long> industryDistribution = userRepository.findByRole(User.Role.ALUMNI)
-            .stream()
-            .filter(u -> u.getIndustry() != null)
-            .collect(Collectors.groupingBy(User::getIndustry, Collectors.counting()));
+        // Industry distribution (grouped in the database, covered by idx_users_role_industry)
+        Map<String, Long> industryDistribution = toDistribution(
+            userRepository.countByRoleGroupedByIndustry(User.Role.ALUMNI));
         
-        // University distribution
-        Map<String, Long> universityDistribution = userRepository.findAll()
-            .stream()
-            .filter(u -> u.getUniversity() != null)
-            .collect(Collectors.groupingBy(User::getUniversity, Collectors.counting()));
+        // University distribution (grouped in the database, covered by idx_users_university)
+        Map<String, Long> universityDistribution = toDistribution(
+            userRepository.countGroupedByUniversity());
         
         insights.put("growthMetrics", growthMetrics);
         insights.put("industryDistribution", industryDistribution);
@@ -259,46 +353,38 @@ public class AdminAnalyticsService {
         Map<String, Object> result = new HashMap<>();
         
         // Get pending mentorship requests
-        List<Mentorship> pendingRequests = mentorshipRepository.findByStatus(Mentorship.Status.PENDING);
-        
-        // Get available mentors (sorted by current load)
-        List<User> availableMentors = userRepository.findByRoleAndIsVerified(User.Role.ALUMNI, true);
-        
-        Map<Long, Integer> mentorLoads = new HashMap<>();
-        for (User mentor : availableMentors) {
-            long activeCount = mentorshipRepository.findByMentorId(mentor.getId())
-                .stream()
-                .filter(m -> m.getStatus() == Mentorship.Status.ACTIVE)
-                .count();
-            mentorLoads.put(mentor.getId(), (int) activeCount);
-        }
+        List<Mentorship> pendingRequests = mentorshipRepository.findWithParticipantsByStatus(Mentorship.Status.PENDING);
         
-        List<String> balancingActions = new ArrayList<>();
-        int rebalanced = 0;
+        // Plan against a private copy of the live load index, so suggestions don't move real counts
+        MentorLoadIndex.Planner planner = mentorLoadIndex.newPlanner(maxActiveMentorships);
         
-        // Simple load balancing: assign pending requests to least loaded mentors
+        Map<Mentorship, Long> assignments = new LinkedHashMap<>();
         for (Mentorship request : pendingRequests) {
-            if (rebalanced >= 10) break; // Limit to 10 auto-assignments per run
+            if (!planner.hasCapacity()) break; // Every mentor is at capacity
             
-            User leastLoadedMentor = availableMentors.stream()
-                .filter(m -> mentorLoads.get(m.getId()) < 3) // Max 3 active mentorships
-                .min(Comparator.comparing(m -> mentorLoads.get(m.getId())))
-                .orElse(null);
-            
-            if (leastLoadedMentor != null) {
-                // Auto-assign (in real implementation, you might want to consider matching criteria)
-                balancingActions.add("Suggested assignment: " + request.getMentee().getFirstName() + 
-                    " to " + leastLoadedMentor.getFirstName());
-                mentorLoads.put(leastLoadedMentor.getId(), mentorLoads.get(leastLoadedMentor.getId()) + 1);
-                rebalanced++;
+            // Auto-assign (in real implementation, you might want to consider matching criteria)
+            assignments.put(request, planner.assignNext());
+        }
+        
+        Map<Long, User> mentorsById = new HashMap<>();
+        for (User mentor : userRepository.findAllById(new HashSet<>(assignments.values()))) {
+            mentorsById.put(mentor.getId(), mentor);
+        }
+        
+        List<String> balancingActions = new ArrayList<>();
+        for (Map.Entry<Mentorship, Long> assignment : assignments.entrySet()) {
+            User mentor = mentorsById.get(assignment.getValue());
+            if (mentor != null) {
+                balancingActions.add("Suggested assignment: " + assignment.getKey().getMentee().getFirstName() + 
+                    " to " + mentor.getFirstName());
             }
         }
         
         result.put("balancingActions", balancingActions);
-        result.put("rebalancedCount", rebalanced);
+        result.put("rebalancedCount", balancingActions.size());
         result.put("pendingRequests", pendingRequests.size());
         result.put("message", "Load balancing analysis completed");
         
         return result;
     }
-}
\ No newline at end of file
+}
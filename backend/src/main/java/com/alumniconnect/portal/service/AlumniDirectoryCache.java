@@ -0,0 +1,67 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.entity.User;
+import com.alumniconnect.portal.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The verified alumni directory as ready-to-send JSON bytes. Built on first
+ * request after an invalidation. UserService invalidates it whenever an
+ * alumnus is created, changed, verified, activated, deactivated or deleted.
+ */
+@Service
+public class AlumniDirectoryCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Part of the ETag, so validators handed out before a restart never match
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Rendered> rendered = new AtomicReference<>();
+
+    public Rendered get() {
+        Rendered current = rendered.get();
+        if (current != null) {
+            return current;
+        }
+        
+        long buildVersion = version.get();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(userRepository.findSummariesByRoleAndIsVerified(User.Role.ALUMNI, true));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to render alumni directory", e);
+        }
+        Rendered built = new Rendered(json, "\"alumni-" + epoch + "-" + buildVersion + "\"");
+        // Only publish if no invalidation happened while we were reading. One can still
+        // slip in between the check and the publish, so look again and take it back
+        if (version.get() == buildVersion && rendered.compareAndSet(null, built)
+                && version.get() != buildVersion) {
+            rendered.compareAndSet(built, null);
+        }
+        return built;
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        rendered.set(null);
+    }
+
+    public void invalidateIfAlumni(User user) {
+        if (user.getRole() == User.Role.ALUMNI) {
+            invalidate();
+        }
+    }
+
+    public record Rendered(byte[] json, String etag) {}
+}
@@ -0,0 +1,104 @@
+package com.alumniconnect.portal.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Materializes the admin analytics on a schedule so dashboard reads don't scan
+ * the mentorships and users tables on every page view.
+ *
+ * Each refresh builds a complete, immutable Snapshot and publishes it with a
+ * single reference swap; readers always see one consistent generation.
+ * Callers that arrive while a refresh is running share its result.
+ */
+@Service
+public class AnalyticsSnapshotService {
+
+    @Autowired
+    private AdminAnalyticsService analyticsService;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    private final Object refreshLock = new Object();
+
+    @Scheduled(initialDelayString = "${analytics.snapshot.initial-delay-ms:0}",
+               fixedDelayString = "${analytics.snapshot.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    public Snapshot refresh() {
+        Snapshot seen = current.get();
+        synchronized (refreshLock) {
+            // A refresh published while we waited for the lock serves this call too,
+            // so callers that pile up behind a running rebuild don't each run another
+            Snapshot published = current.get();
+            if (published != seen) {
+                return published;
+            }
+            LocalDateTime computedAt = LocalDateTime.now();
+            Snapshot snapshot = new Snapshot(
+                computedAt,
+                freeze(analyticsService.getMentorshipContinuityMetrics(), computedAt),
+                freeze(analyticsService.getMentorshipEffectivenessMetrics(), computedAt),
+                freeze(analyticsService.getPredictiveRiskAnalysis(), computedAt),
+                freeze(analyticsService.getMentorLoadBalancingData(), computedAt),
+                freeze(analyticsService.getProgramLevelInsights(), computedAt));
+            current.set(snapshot);
+            return snapshot;
+        }
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    private static Map<String, Object> freeze(Map<String, Object> section, LocalDateTime computedAt) {
+        Map<String, Object> copy = new HashMap<>(section);
+        copy.put("computedAt", computedAt);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    public static final class Snapshot {
+        private final LocalDateTime computedAt;
+        private final Map<String, Object> continuity;
+        private final Map<String, Object> effectiveness;
+        private final Map<String, Object> riskAssessment;
+        private final Map<String, Object> mentorLoadBalancing;
+        private final Map<String, Object> programInsights;
+
+        private Snapshot(LocalDateTime computedAt,
+                         Map<String, Object> continuity,
+                         Map<String, Object> effectiveness,
+                         Map<String, Object> riskAssessment,
+                         Map<String, Object> mentorLoadBalancing,
+                         Map<String, Object> programInsights) {
+            this.computedAt = computedAt;
+            this.continuity = continuity;
+            this.effectiveness = effectiveness;
+            this.riskAssessment = riskAssessment;
+            this.mentorLoadBalancing = mentorLoadBalancing;
+            this.programInsights = programInsights;
+        }
+
+        public LocalDateTime getComputedAt() { return computedAt; }
+
+        public Map<String, Object> getContinuity() { return continuity; }
+
+        public Map<String, Object> getEffectiveness() { return effectiveness; }
+
+        public Map<String, Object> getRiskAssessment() { return riskAssessment; }
+
+        public Map<String, Object> getMentorLoadBalancing() { return mentorLoadBalancing; }
+
+        public Map<String, Object> getProgramInsights() { return programInsights; }
+    }
+}
@@ -0,0 +1,240 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.repository.MentorshipRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of new chat messages to Server-Sent Event subscribers,
+ * keyed by mentorship.
+ *
+ * Publishing never blocks: every subscriber has its own bounded buffer, drained
+ * by a small shared dispatcher pool, so a slow client only ever delays itself.
+ * When a buffer overflows the oldest message is dropped and the client is told
+ * to resync, which it does through the paged history (after=<last id>).
+ *
+ * Servlet writes block while a client's TCP window is full. A write still in
+ * progress after chat.stream.write-timeout-ms closes that subscriber, and the
+ * pool gets a replacement thread until the stuck write returns, so stalled
+ * clients never hold the dispatcher threads the others need.
+ */
+@Service
+public class ChatFanoutHub {
+
+    private static final Object HEARTBEAT = new Object();
+    private static final int DRAIN_BATCH = 64;
+
+    private static final int IDLE = 0;
+    private static final int WRITING = 1;
+    private static final int ABANDONED = 2;
+
+    @Autowired
+    private MentorshipRepository mentorshipRepository;
+
+    @Value("${chat.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${chat.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${chat.stream.dispatch-threads:8}")
+    private int dispatchThreads;
+
+    @Value("${chat.stream.write-timeout-ms:10000}")
+    private long writeTimeoutMs;
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private ThreadPoolExecutor dispatcher;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "chat-fanout-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.values().forEach(set -> set.forEach(Subscriber::close));
+        dispatcher.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long mentorshipId, Long userId) {
+        MentorshipRepository.Participants participants = mentorshipRepository.findParticipants(mentorshipId)
+            .orElseThrow(() -> new RuntimeException("Mentorship not found"));
+        if (!participants.includes(userId)) {
+            throw new RuntimeException("User is not a participant in this mentorship");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(mentorshipId, emitter);
+        subscribers.computeIfAbsent(mentorshipId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        connections.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> remove(subscriber));
+        return emitter;
+    }
+
+    public void publish(Long mentorshipId, Map<String, Object> message) {
+        Set<Subscriber> mentorshipSubscribers = subscribers.get(mentorshipId);
+        if (mentorshipSubscribers == null) return;
+
+        for (Subscriber subscriber : mentorshipSubscribers) {
+            subscriber.offer(message);
+        }
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    // Keeps idle connections open through proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${chat.stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    // Closes subscribers stuck in one write for longer than the write timeout
+    @Scheduled(fixedDelayString = "${chat.stream.write-check-ms:1000}")
+    public void abandonStalledWrites() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        subscribers.values().forEach(set -> set.forEach(subscriber -> {
+            if (subscriber.state.get() == WRITING && now - subscriber.writeStartedNanos > timeoutNanos
+                    && subscriber.state.compareAndSet(WRITING, ABANDONED)) {
+                resizeDispatcher(1);
+                subscriber.close();
+            }
+        }));
+    }
+
+    // The blocked thread stays in the pool until its write fails, so lend the pool another one meanwhile
+    private synchronized void resizeDispatcher(int delta) {
+        if (delta > 0) {
+            dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() + delta);
+            dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + delta);
+        } else {
+            dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + delta);
+            dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() + delta);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) return;
+
+        connections.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.mentorshipId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private final class Subscriber implements Runnable {
+        private final Long mentorshipId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Object> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final AtomicBoolean overflowed = new AtomicBoolean(false);
+        private final AtomicBoolean removed = new AtomicBoolean(false);
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+        private volatile long writeStartedNanos;
+
+        private Subscriber(Long mentorshipId, SseEmitter emitter) {
+            this.mentorshipId = mentorshipId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(Object message) {
+            if (removed.get()) return;
+
+            while (!buffer.offer(message)) {
+                // Full: drop the oldest message rather than block the publisher
+                buffer.poll();
+                overflowed.set(true);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (overflowed.getAndSet(false)) {
+                    send(SseEmitter.event().name("resync").data("Messages were dropped; reload history"));
+                }
+                Object message;
+                int sent = 0;
+                // Bounded drain so one busy subscriber can't monopolize a dispatcher thread
+                while (sent < DRAIN_BATCH && !removed.get() && (message = buffer.poll()) != null) {
+                    if (message == HEARTBEAT) {
+                        send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        send(SseEmitter.event().name("message").data(message));
+                    }
+                    sent++;
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+
+            if (!removed.get() && (!buffer.isEmpty() || overflowed.get())) {
+                schedule();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            writeStartedNanos = System.nanoTime();
+            state.set(WRITING);
+            try {
+                emitter.send(event);
+            } finally {
+                // Abandoned by the watchdog, which lent the pool a thread: hand it back
+                if (!state.compareAndSet(WRITING, IDLE)) {
+                    resizeDispatcher(-1);
+                }
+            }
+        }
+
+        void close() {
+            remove(this);
+            buffer.clear();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // already completed
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.archive.ArchivedChat;
+import com.alumniconnect.portal.archive.ChatSegmentStore;
+import com.alumniconnect.portal.repository.ChatRepository;
+import com.alumniconnect.portal.repository.ConversationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Full-text index over chat content, kept in a Lucene index on local disk.
+ *
+ * ChatService adds each message once it is committed. Searches are near
+ * real time: new messages become visible within chat.search.refresh-ms.
+ * Every query is filtered to the mentorships the caller takes part in. The
+ * index is derived data and can be rebuilt at any time from the chats table
+ * and the archived segments of ChatSegmentStore.
+ *
+ * A rebuild marks its commits incomplete until the last one, so an index left
+ * behind by a crash mid-rebuild is rebuilt again at startup. While it runs,
+ * searches keep the last complete view (messages sent meanwhile show up once
+ * it finishes).
+ */
+@Service
+public class ChatSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatSearchIndex.class);
+
+    private static final int MAX_RESULTS = 100;
+    private static final int REBUILD_COMMIT_INTERVAL = 100_000;
+    private static final String COMPLETE_KEY = "complete";
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ChatSegmentStore chatSegmentStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${chat.search.index-dir:data/chat-index}")
+    private String indexDir;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path path = Paths.get(indexDir);
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close(); // commits pending changes
+        directory.close();
+    }
+
+    // A fresh install, a deleted index directory or an interrupted rebuild is rebuilt in the background
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfIncomplete() {
+        if (!isComplete()) {
+            Thread thread = new Thread(this::rebuild, "chat-search-rebuild");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    public void index(Long id, Long mentorshipId, Long senderId, String content, LocalDateTime createdAt) {
+        try {
+            writer.updateDocument(new Term("id", id.toString()), toDocument(id, mentorshipId, senderId, content, createdAt));
+        } catch (IOException e) {
+            // The message is already committed; a rebuild will pick it up
+            log.warn("Failed to index chat message {}", id, e);
+        }
+    }
+
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new RuntimeException("Chat search index rebuild already running");
+        }
+        try {
+            // Carried by every commit until the final one flips it
+            writer.setLiveCommitData(Map.of(COMPLETE_KEY, "false").entrySet());
+            writer.deleteAll();
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            int indexed = readOnly.execute(status -> {
+                int count = 0;
+                try (Stream<ChatRepository.SearchableMessage> rows = chatRepository.streamSearchableMessages()) {
+                    Iterator<ChatRepository.SearchableMessage> it = rows.iterator();
+                    while (it.hasNext()) {
+                        ChatRepository.SearchableMessage row = it.next();
+                        writer.updateDocument(new Term("id", row.getId().toString()), toDocument(row.getId(),
+                            row.getMentorshipId(), row.getSenderId(), row.getContent(), row.getCreatedAt()));
+                        if (++count % REBUILD_COMMIT_INTERVAL == 0) {
+                            writer.commit();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            });
+            // Read after the table, so a message archived meanwhile is in one or the other; ids in both dedupe
+            for (Long mentorshipId : chatSegmentStore.getArchivedMentorshipIds()) {
+                for (ArchivedChat chat : chatSegmentStore.read(mentorshipId)) {
+                    writer.updateDocument(new Term("id", chat.getId().toString()), toDocument(chat.getId(),
+                        mentorshipId, chat.getSenderId(), chat.getContent(), chat.getCreatedAt()));
+                    if (++indexed % REBUILD_COMMIT_INTERVAL == 0) {
+                        writer.commit();
+                    }
+                }
+            }
+            writer.setLiveCommitData(Map.of(COMPLETE_KEY, "true").entrySet());
+            writer.commit();
+            rebuilding.set(false);
+            searcherManager.maybeRefresh();
+            log.info("Rebuilt chat search index with {} messages", indexed);
+            return indexed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // Not during a rebuild: searchers would see the index half refilled
+    @Scheduled(fixedDelayString = "${chat.search.refresh-ms:500}")
+    public void refresh() throws IOException {
+        if (!rebuilding.get()) {
+            searcherManager.maybeRefresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.search.commit-ms:60000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    private boolean isComplete() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (COMPLETE_KEY.equals(entry.getKey())) return "true".equals(entry.getValue());
+            }
+        }
+        return false;
+    }
+
+    // Best matches first, restricted to the user's mentorships (or one of them when mentorshipId is given)
+    public List<Map<String, Object>> search(Long userId, String text, Long mentorshipId, int limit) {
+        if (text == null || text.isBlank()) {
+            throw new RuntimeException("Search text is required");
+        }
+        
+        List<Long> scope = conversationRepository.findMentorshipIdsByUserId(userId);
+        if (mentorshipId != null) {
+            if (!scope.contains(mentorshipId)) {
+                return new ArrayList<>();
+            }
+            scope = List.of(mentorshipId);
+        }
+        if (scope.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Query query = new BooleanQuery.Builder()
+            .add(parse(text), BooleanClause.Occur.MUST)
+            .add(LongPoint.newSetQuery("mentorshipId", scope), BooleanClause.Occur.FILTER)
+            .build();
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, Math.max(1, Math.min(limit, MAX_RESULTS)));
+                StoredFields storedFields = searcher.storedFields();
+                List<Map<String, Object>> results = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc hit : top.scoreDocs) {
+                    Document doc = storedFields.document(hit.doc);
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("id", Long.parseLong(doc.get("id")));
+                    result.put("mentorshipId", doc.getField("mentorshipId").numericValue().longValue());
+                    result.put("senderId", doc.getField("senderId").numericValue().longValue());
+                    result.put("content", doc.get("content"));
+                    result.put("createdAt", LocalDateTime.parse(doc.get("createdAt")));
+                    result.put("score", hit.score);
+                    results.add(result);
+                }
+                return results;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Query parse(String text) {
+        QueryParser parser = new QueryParser("content", analyzer);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(text);
+        } catch (ParseException e) {
+            // Not valid query syntax; search for the words literally
+            try {
+                return parser.parse(QueryParser.escape(text));
+            } catch (ParseException escaped) {
+                throw new RuntimeException("Invalid search text");
+            }
+        }
+    }
+
+    private static Document toDocument(Long id, Long mentorshipId, Long senderId, String content, LocalDateTime createdAt) {
+        Document doc = new Document();
+        doc.add(new StringField("id", id.toString(), Field.Store.YES));
+        doc.add(new LongPoint("mentorshipId", mentorshipId));
+        doc.add(new StoredField("mentorshipId", mentorshipId));
+        doc.add(new StoredField("senderId", senderId));
+        doc.add(new TextField("content", content, Field.Store.YES));
+        doc.add(new StoredField("createdAt", createdAt.toString()));
+        return doc;
+    }
+}
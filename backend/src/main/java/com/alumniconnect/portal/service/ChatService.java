@@ -1,17 +1,20 @@
 package com.alumniconnect.portal.service;
 
+import com.alumniconnect.portal.archive.ArchivedChat;
+import com.alumniconnect.portal.archive.ChatSegmentStore;
 import com.alumniconnect.portal.entity.Chat;
 import com.alumniconnect.portal.entity.Mentorship;
 import com.alumniconnect.portal.entity.User;
 import com.alumniconnect.portal.repository.ChatRepository;
 import com.alumniconnect.portal.repository.MentorshipRepository;
-import com.alumniconnect.portal.repository.UserRepository;
+import com.alumniconnect.portal.storage.AttachmentStorage;
+import com.alumniconnect.portal.storage.ThumbnailGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 public class ChatService {
@@ -23,44 +26,259 @@ public class ChatService {
     private MentorshipRepository mentorshipRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private ChatFanoutHub chatFanoutHub;
 
-    public Chat sendMessage(Long mentorshipId, Long senderId, String content, Chat.MessageType messageType) {
-        Optional<Mentorship> mentorshipOpt = mentorshipRepository.findById(mentorshipId);
-        Optional<User> senderOpt = userRepository.findById(senderId);
+    @Autowired
+    private ChatWritePipeline chatWritePipeline;
 
-        if (mentorshipOpt.isPresent() && senderOpt.isPresent()) {
-            Chat chat = new Chat();
-            chat.setMentorship(mentorshipOpt.get());
-            chat.setSender(senderOpt.get());
-            chat.setContent(content);
-            chat.setMessageType(messageType);
+    @Autowired
+    private UnreadCounterStore unreadCounters;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private ChatSearchIndex chatSearchIndex;
+
+    @Autowired
+    private ChatSegmentStore chatSegmentStore;
+
+    @Autowired
+    private AttachmentStorage attachmentStorage;
 
-            // Update mentorship last interaction
-            Mentorship mentorship = mentorshipOpt.get();
-            mentorship.setLastInteraction(LocalDateTime.now());
-            mentorshipRepository.save(mentorship);
+    @Autowired
+    private ThumbnailGenerator thumbnailGenerator;
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final Comparator<Chat> CHRONOLOGICAL =
+        Comparator.comparing(Chat::getCreatedAt).thenComparing(Chat::getId);
+
+    public Chat sendMessage(Long mentorshipId, Long senderId, String content, Chat.MessageType messageType) {
+        return sendMessage(mentorshipId, senderId, content, messageType, null);
+    }
+
+    // FILE and IMAGE messages reference an attachment uploaded beforehand through /api/attachments
+    public Chat sendMessage(Long mentorshipId, Long senderId, String content, Chat.MessageType messageType, String fileUrl) {
+        if (content == null) {
+            throw new RuntimeException("Message content is required");
+        }
+        if (messageType == null) {
+            throw new RuntimeException("Message type is required");
+        }
+        if (messageType != Chat.MessageType.TEXT || fileUrl != null) {
+            String key = AttachmentStorage.keyFromUrl(fileUrl);
+            if (key == null || attachmentStorage.find(key).isEmpty()) {
+                throw new RuntimeException("Attachment not found");
+            }
+        }
+        
+        Optional<User> senderOpt = userCache.findById(senderId);
+        Optional<MentorshipRepository.Participants> participantsOpt = mentorshipRepository.findParticipants(mentorshipId);
 
-            return chatRepository.save(chat);
+        if (senderOpt.isPresent() && participantsOpt.isPresent()) {
+            if (!participantsOpt.get().includes(senderId)) {
+                throw new RuntimeException("Sender is not a participant in this mentorship");
+            }
+            // Group-committed with other messages; lastInteraction and conversations are updated by the pipeline
+            Long recipientId = participantsOpt.get().counterpartOf(senderId);
+            // Side effects run on commit, so a message that commits after the sender timed out still gets them
+            return chatWritePipeline.submit(mentorshipId, senderOpt.get(), recipientId, content, messageType, fileUrl,
+                saved -> {
+                    unreadCounters.increment(recipientId, mentorshipId);
+                    if (messageType == Chat.MessageType.IMAGE) {
+                        thumbnailGenerator.submit(AttachmentStorage.keyFromUrl(fileUrl));
+                    }
+                    chatSearchIndex.index(saved.getId(), mentorshipId, senderId, content, saved.getCreatedAt());
+                    chatFanoutHub.publish(mentorshipId, toMessage(saved));
+                });
         }
 
         throw new RuntimeException("Mentorship or User not found");
     }
 
+    // Reads both tiers: the chats table and, for archived mentorships, the segment file
     public List<Chat> getChatHistory(Long mentorshipId) {
-        return chatRepository.findByMentorshipIdOrderByCreatedAt(mentorshipId);
+        List<Chat> hot = chatRepository.findByMentorshipIdOrderByCreatedAt(mentorshipId);
+        if (!chatSegmentStore.hasArchive(mentorshipId)) {
+            return hot;
+        }
+        
+        List<Chat> merged = mergeTiers(toChats(mentorshipId, chatSegmentStore.read(mentorshipId)), hot);
+        merged.sort(CHRONOLOGICAL);
+        return merged;
     }
 
-    public List<Chat> getUserChats(Long userId) {
-        return chatRepository.findByUserId(userId);
+    // One page of a conversation, oldest first. With neither cursor the latest messages are returned;
+    // beforeId/afterId page backwards/forwards from that message on (createdAt, id).
+    public Map<String, Object> getChatHistoryPage(Long mentorshipId, Long beforeId, Long afterId, int size) {
+        if (beforeId != null && afterId != null) {
+            throw new RuntimeException("Use either before or after, not both");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest page = PageRequest.of(0, pageSize + 1); // one extra row tells us if there is more
+        
+        List<Chat> chats;
+        boolean forward = afterId != null;
+        Long cursorId = forward ? afterId : beforeId;
+        LocalDateTime cursorAt = cursorId != null ? findCreatedAt(mentorshipId, cursorId) : null;
+        if (beforeId != null) {
+            chats = chatRepository.findPageBefore(mentorshipId, cursorAt, beforeId, page);
+        } else if (afterId != null) {
+            chats = chatRepository.findPageAfter(mentorshipId, cursorAt, afterId, page);
+        } else {
+            chats = chatRepository.findLatestPage(mentorshipId, page);
+        }
+        
+        if (chatSegmentStore.hasArchive(mentorshipId)) {
+            // The page is the first pageSize + 1 rows of both tiers in paging order. Only archive blocks
+            // overlapping the window are inflated; the extra rows cover ids present in both tiers.
+            List<Chat> archived = toChats(mentorshipId, chatSegmentStore.readPage(
+                mentorshipId, cursorAt, cursorId, forward, pageSize + 1 + chats.size()));
+            List<Chat> merged = mergeTiers(archived, chats);
+            merged.sort(forward ? CHRONOLOGICAL : CHRONOLOGICAL.reversed());
+            chats = merged.size() > pageSize + 1 ? merged.subList(0, pageSize + 1) : merged;
+        }
+        
+        boolean hasMore = chats.size() > pageSize;
+        List<Chat> pageChats = new ArrayList<>(hasMore ? chats.subList(0, pageSize) : chats);
+        if (!forward) {
+            Collections.reverse(pageChats);
+        }
+        
+        List<Map<String, Object>> messages = new ArrayList<>(pageChats.size());
+        for (Chat chat : pageChats) {
+            messages.add(toMessage(chat));
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("messages", messages);
+        result.put("hasMore", hasMore);
+        result.put("before", pageChats.isEmpty() ? beforeId : pageChats.get(0).getId());
+        result.put("after", pageChats.isEmpty() ? afterId : pageChats.get(pageChats.size() - 1).getId());
+        return result;
+    }
+
+    private LocalDateTime findCreatedAt(Long mentorshipId, Long chatId) {
+        Optional<LocalDateTime> createdAt = chatRepository.findCreatedAt(mentorshipId, chatId);
+        if (createdAt.isPresent()) {
+            return createdAt.get();
+        }
+        // The cursor message may have been archived since the client received it
+        return chatSegmentStore.find(mentorshipId, chatId)
+            .map(ArchivedChat::getCreatedAt)
+            .orElseThrow(() -> new RuntimeException("Message not found"));
+    }
+
+    // Union by id; a message present in both tiers (archiving was interrupted) keeps its hot row
+    private static List<Chat> mergeTiers(List<Chat> archived, List<Chat> hot) {
+        Map<Long, Chat> byId = new LinkedHashMap<>();
+        for (Chat chat : archived) {
+            byId.put(chat.getId(), chat);
+        }
+        for (Chat chat : hot) {
+            byId.put(chat.getId(), chat);
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    // Archived messages as detached Chat instances with their senders loaded
+    private List<Chat> toChats(Long mentorshipId, List<ArchivedChat> archived) {
+        if (archived.isEmpty()) return new ArrayList<>();
+        Set<Long> senderIds = new HashSet<>();
+        for (ArchivedChat chat : archived) {
+            senderIds.add(chat.getSenderId());
+        }
+        Map<Long, User> senders = new HashMap<>();
+        for (Long senderId : senderIds) {
+            userCache.findById(senderId).ifPresent(user -> senders.put(senderId, user));
+        }
+        
+        Mentorship mentorship = mentorshipRepository.getReferenceById(mentorshipId);
+        List<Chat> chats = new ArrayList<>(archived.size());
+        for (ArchivedChat row : archived) {
+            User sender = senders.get(row.getSenderId());
+            if (sender == null) {
+                sender = new User();
+                sender.setId(row.getSenderId());
+            }
+            Chat chat = new Chat();
+            chat.setId(row.getId());
+            chat.setMentorship(mentorship);
+            chat.setSender(sender);
+            chat.setContent(row.getContent());
+            chat.setMessageType(row.getMessageType());
+            chat.setFileUrl(row.getFileUrl());
+            chat.setIsRead(row.getIsRead());
+            chat.setCreatedAt(row.getCreatedAt());
+            chats.add(chat);
+        }
+        return chats;
+    }
+
+    public static Map<String, Object> toMessage(Chat chat) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("id", chat.getId());
+        message.put("mentorshipId", chat.getMentorship().getId());
+        message.put("senderId", chat.getSender().getId());
+        message.put("senderName", chat.getSender().getFirstName() + " " + chat.getSender().getLastName());
+        message.put("content", chat.getContent());
+        message.put("messageType", chat.getMessageType());
+        message.put("fileUrl", chat.getFileUrl());
+        // Views load the thumbnail by default and fetch fileUrl only on demand
+        message.put("previewUrl", chat.getMessageType() == Chat.MessageType.IMAGE
+            ? ThumbnailGenerator.previewUrl(chat.getFileUrl()) : null);
+        message.put("isRead", chat.getIsRead());
+        message.put("createdAt", chat.getCreatedAt());
+        return message;
     }
 
     public void markAsRead(Long chatId) {
         Optional<Chat> chatOpt = chatRepository.findById(chatId);
-        if (chatOpt.isPresent()) {
-            Chat chat = chatOpt.get();
-            chat.setIsRead(true);
-            chatRepository.save(chat);
+        if (chatOpt.isEmpty()) return;
+        Chat chat = chatOpt.get();
+        Long mentorshipId = chat.getMentorship().getId();
+        Long senderId = chat.getSender().getId();
+        unreadCounters.whileNotRebuilding(() -> {
+            // Conditional update, so a message is only ever counted as read once
+            if (chatRepository.markRead(chatId) == 1) {
+                mentorshipRepository.findParticipants(mentorshipId).ifPresent(participants ->
+                    unreadCounters.decrement(participants.counterpartOf(senderId), mentorshipId, 1));
+            }
+            return null;
+        });
+    }
+
+    // Marks everything the reader received in a mentorship as read, up to and including upToId
+    // (or everything when upToId is null), in a single UPDATE
+    public int markAllAsRead(Long mentorshipId, Long readerId, Long upToId) {
+        MentorshipRepository.Participants participants = mentorshipRepository.findParticipants(mentorshipId)
+            .orElseThrow(() -> new RuntimeException("Mentorship not found"));
+        if (!participants.includes(readerId)) {
+            throw new RuntimeException("Reader is not a participant in this mentorship");
+        }
+        
+        LocalDateTime createdAt = upToId == null ? null : chatRepository.findCreatedAt(mentorshipId, upToId)
+            .orElseThrow(() -> new RuntimeException("Message not found"));
+        return unreadCounters.whileNotRebuilding(() -> {
+            int updated = createdAt != null
+                ? chatRepository.markReadUpTo(mentorshipId, readerId, createdAt, upToId)
+                : chatRepository.markAllRead(mentorshipId, readerId);
+            // By the rows actually updated, so messages committed after the UPDATE stay unread
+            unreadCounters.decrement(readerId, mentorshipId, updated);
+            return updated;
+        });
+    }
+
+    public Map<String, Object> getUnreadCounts(Long userId) {
+        Map<Long, Integer> byMentorship = unreadCounters.getUnreadCounts(userId);
+        int total = 0;
+        for (int count : byMentorship.values()) {
+            total += count;
         }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("total", total);
+        result.put("byMentorship", byMentorship);
+        return result;
     }
 }
\ No newline at end of file
@@ -0,0 +1,282 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.entity.Chat;
+import com.alumniconnect.portal.entity.Conversation;
+import com.alumniconnect.portal.entity.User;
+import com.alumniconnect.portal.repository.ChatRepository;
+import com.alumniconnect.portal.repository.ConversationRepository;
+import com.alumniconnect.portal.repository.MentorshipRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Group commit for chat messages.
+ *
+ * Senders enqueue into a bounded queue and wait; a single flusher thread
+ * collects up to chat.ingest.batch-size messages (or whatever arrives within
+ * chat.ingest.flush-window-ms), inserts them as one JDBC batch and bumps each
+ * mentorship's lastInteraction and both participants' conversation rows once
+ * per flush, all in one transaction. A
+ * sender's call returns only after that transaction commits. If a batch
+ * fails, its messages are retried one per transaction, so only the bad one
+ * fails. The afterCommit callback runs once the message is stored, even if
+ * the sender stopped waiting (commit-timeout-ms) before then.
+ */
+@Service
+public class ChatWritePipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatWritePipeline.class);
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private MentorshipRepository mentorshipRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ConversationService conversationService;
+
+    @Autowired
+    private UnreadCounterStore unreadCounters;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${chat.ingest.batch-size:200}")
+    private int batchSize;
+
+    @Value("${chat.ingest.flush-window-ms:5}")
+    private long flushWindowMs;
+
+    @Value("${chat.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${chat.ingest.enqueue-timeout-ms:1000}")
+    private long enqueueTimeoutMs;
+
+    @Value("${chat.ingest.commit-timeout-ms:10000}")
+    private long commitTimeoutMs;
+
+    private BlockingQueue<PendingChat> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private Timer latency;
+    private Counter committed;
+    private Counter failed;
+    private DistributionSummary batchSizes;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        latency = Timer.builder("chat.ingest.latency")
+            .description("Time from enqueue to commit of a chat message")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        committed = Counter.builder("chat.ingest.committed").register(meterRegistry);
+        failed = Counter.builder("chat.ingest.failed").register(meterRegistry);
+        batchSizes = DistributionSummary.builder("chat.ingest.batch.size").register(meterRegistry);
+        Gauge.builder("chat.ingest.queue.depth", queue, Collection::size).register(meterRegistry);
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "chat-ingest-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(commitTimeoutMs);
+    }
+
+    public Chat submit(Long mentorshipId, User sender, Long recipientId, String content,
+                       Chat.MessageType messageType, String fileUrl, Consumer<Chat> afterCommit) {
+        // Rejected here rather than at flush time, where it would fail the whole batch
+        if (content == null || messageType == null) {
+            throw new RuntimeException("Message content and type are required");
+        }
+        PendingChat pending = new PendingChat(mentorshipId, sender, recipientId, content, messageType, fileUrl);
+        pending.result.thenAccept(saved -> {
+            try {
+                afterCommit.accept(saved);
+            } catch (RuntimeException e) {
+                log.warn("After-commit handling failed for chat message {}", saved.getId(), e);
+            }
+        });
+        try {
+            if (!queue.offer(pending, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Chat service is busy, please retry");
+            }
+            return pending.result.get(commitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while sending message", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Message could not be saved", e.getCause());
+        } catch (TimeoutException e) {
+            // Not failed: it may still commit and be delivered, so clients should reload history before resending
+            throw new RuntimeException("Timed out waiting for message to be saved; it may still be delivered", e);
+        }
+    }
+
+    private void runFlusher() {
+        List<PendingChat> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingChat first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // Give concurrent senders one flush window to join this batch
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushWindowMs);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingChat next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // stop() interrupts; keep draining until the queue is empty
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingChat> batch) {
+        try {
+            // The afterCommit callbacks count each message unread, so no unread rebuild may fall in between
+            unreadCounters.whileNotRebuilding(() -> {
+                List<Chat> saved = persist(batch);
+                long now = System.nanoTime();
+                for (int i = 0; i < batch.size(); i++) {
+                    PendingChat pending = batch.get(i);
+                    latency.record(now - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+                    pending.result.complete(saved.get(i));
+                }
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            // One bad message (e.g. its mentorship was just deleted) must not fail its batch-mates
+            log.warn("Failed to persist a batch of {} chat messages, retrying them one at a time", batch.size(), e);
+            for (PendingChat pending : batch) {
+                flush(List.of(pending));
+            }
+            return;
+        }
+        committed.increment(batch.size());
+        batchSizes.record(batch.size());
+    }
+
+    private List<Chat> persist(List<PendingChat> batch) {
+        return conversationService.whileNotRebuilding(() -> transactionTemplate.execute(status -> {
+            List<Chat> chats = new ArrayList<>(batch.size());
+            Map<Long, LocalDateTime> lastInteractions = new HashMap<>();
+            Map<Long, Integer> lastIndexes = new HashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                PendingChat pending = batch.get(i);
+                Chat chat = new Chat();
+                chat.setMentorship(mentorshipRepository.getReferenceById(pending.mentorshipId));
+                chat.setSender(pending.sender);
+                chat.setContent(pending.content);
+                chat.setMessageType(pending.messageType);
+                chat.setFileUrl(pending.fileUrl);
+                chat.setCreatedAt(pending.createdAt);
+                chats.add(chat);
+                lastInteractions.merge(pending.mentorshipId, pending.createdAt,
+                    (a, b) -> a.isAfter(b) ? a : b);
+                lastIndexes.put(pending.mentorshipId, i); // queue order, so the last one wins
+            }
+
+            List<Chat> result = chatRepository.saveAll(chats);
+            // One lastInteraction write per mentorship per flush, however many messages it got
+            lastInteractions.forEach(mentorshipRepository::touchLastInteraction);
+            for (int index : lastIndexes.values()) {
+                PendingChat pending = batch.get(index);
+                Chat last = result.get(index);
+                upsertConversation(pending.sender.getId(), pending.recipientId, pending, last);
+                upsertConversation(pending.recipientId, pending.sender.getId(), pending, last);
+            }
+            return result;
+        }));
+    }
+
+    private void fail(PendingChat pending, RuntimeException e) {
+        log.warn("Failed to persist chat message for mentorship {}", pending.mentorshipId, e);
+        failed.increment();
+        pending.result.completeExceptionally(e);
+    }
+
+    private void upsertConversation(Long userId, Long counterpartId, PendingChat pending, Chat last) {
+        String preview = Conversation.preview(pending.content);
+        int updated = conversationRepository.updateLastMessage(userId, pending.mentorshipId,
+            last.getId(), pending.sender.getId(), preview, pending.createdAt);
+        // Only this thread and ConversationService's rebuild write conversations, and we hold off rebuilds
+        if (updated == 0 && !conversationRepository.existsByUserIdAndMentorshipId(userId, pending.mentorshipId)) {
+            Conversation conversation = new Conversation(userId, pending.mentorshipId, counterpartId);
+            conversation.setLastMessageId(last.getId());
+            conversation.setLastSenderId(pending.sender.getId());
+            conversation.setLastMessagePreview(preview);
+            conversation.setLastMessageAt(pending.createdAt);
+            conversationRepository.save(conversation);
+        }
+    }
+
+    private static final class PendingChat {
+        private final Long mentorshipId;
+        private final User sender;
+        private final Long recipientId;
+        private final String content;
+        private final Chat.MessageType messageType;
+        private final String fileUrl;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Chat> result = new CompletableFuture<>();
+
+        private PendingChat(Long mentorshipId, User sender, Long recipientId, String content,
+                            Chat.MessageType messageType, String fileUrl) {
+            this.mentorshipId = mentorshipId;
+            this.sender = sender;
+            this.recipientId = recipientId;
+            this.content = content;
+            this.messageType = messageType;
+            this.fileUrl = fileUrl;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.entity.Conversation;
+import com.alumniconnect.portal.repository.ChatRepository;
+import com.alumniconnect.portal.repository.ConversationRepository;
+import com.alumniconnect.portal.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A user's conversation list: one row per mentorship with the latest message,
+ * read newest first with keyset paging. Unread counts come from
+ * UnreadCounterStore, so a page costs two indexed queries regardless of how
+ * many messages the user has.
+ *
+ * A rebuild holds the write lock through its commit and ChatWritePipeline
+ * writes under the read lock, so flushes wait for a rebuild instead of
+ * inserting rows it is about to insert too.
+ */
+@Service
+public class ConversationService {
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UnreadCounterStore unreadCounters;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    // Backfills the table from existing chats the first time the application starts with it empty
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        rebuild(true);
+    }
+
+    public void rebuild() {
+        rebuild(false);
+    }
+
+    // Runs writes to the conversations table so that they never interleave with a rebuild
+    public <T> T whileNotRebuilding(Supplier<T> writes) {
+        rebuildLock.readLock().lock();
+        try {
+            return writes.get();
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void rebuild(boolean onlyIfEmpty) {
+        rebuildLock.writeLock().lock();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                if (onlyIfEmpty && conversationRepository.count() > 0) return;
+                conversationRepository.deleteAllInBatch();
+                
+                List<Conversation> chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+                try (Stream<ChatRepository.LatestMessage> rows = chatRepository.streamLatestPerMentorship()) {
+                    Iterator<ChatRepository.LatestMessage> it = rows.iterator();
+                    while (it.hasNext()) {
+                        ChatRepository.LatestMessage row = it.next();
+                        chunk.add(toConversation(row, row.getMentorId(), row.getMenteeId()));
+                        chunk.add(toConversation(row, row.getMenteeId(), row.getMentorId()));
+                        if (chunk.size() >= REBUILD_CHUNK_SIZE) {
+                            saveChunk(chunk);
+                        }
+                    }
+                }
+                saveChunk(chunk);
+            });
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private void saveChunk(List<Conversation> chunk) {
+        conversationRepository.saveAll(chunk);
+        conversationRepository.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    private Conversation toConversation(ChatRepository.LatestMessage row, Long userId, Long counterpartId) {
+        Conversation conversation = new Conversation(userId, row.getMentorshipId(), counterpartId);
+        conversation.setLastMessageId(row.getId());
+        conversation.setLastSenderId(row.getSenderId());
+        conversation.setLastMessagePreview(Conversation.preview(row.getContent()));
+        conversation.setLastMessageAt(row.getCreatedAt());
+        return conversation;
+    }
+
+    // One page of the user's conversations, most recently active first. The cursor is the
+    // (lastMessageAt, id) pair of the previous page's last row, returned as beforeAt/beforeId.
+    public Map<String, Object> getConversations(Long userId, LocalDateTime beforeAt, Long beforeId, int size) {
+        if ((beforeAt == null) != (beforeId == null)) {
+            throw new RuntimeException("beforeAt and beforeId must be given together");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest page = PageRequest.of(0, pageSize + 1); // one extra row tells us if there is more
+        
+        List<Conversation> rows = beforeId != null
+            ? conversationRepository.findPageBefore(userId, beforeAt, beforeId, page)
+            : conversationRepository.findLatestPage(userId, page);
+        boolean hasMore = rows.size() > pageSize;
+        List<Conversation> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        
+        Set<Long> counterpartIds = new HashSet<>();
+        for (Conversation conversation : pageRows) {
+            counterpartIds.add(conversation.getCounterpartId());
+        }
+        Map<Long, String> names = new HashMap<>();
+        if (!counterpartIds.isEmpty()) {
+            for (UserRepository.UserName name : userRepository.findNamesByIdIn(counterpartIds)) {
+                names.put(name.getId(), name.getFirstName() + " " + name.getLastName());
+            }
+        }
+        
+        List<Map<String, Object>> conversations = new ArrayList<>(pageRows.size());
+        for (Conversation conversation : pageRows) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("mentorshipId", conversation.getMentorshipId());
+            item.put("counterpartId", conversation.getCounterpartId());
+            item.put("counterpartName", names.get(conversation.getCounterpartId()));
+            item.put("lastMessageId", conversation.getLastMessageId());
+            item.put("lastSenderId", conversation.getLastSenderId());
+            item.put("lastMessagePreview", conversation.getLastMessagePreview());
+            item.put("lastMessageAt", conversation.getLastMessageAt());
+            item.put("unreadCount", unreadCounters.getUnreadCount(userId, conversation.getMentorshipId()));
+            conversations.add(item);
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("conversations", conversations);
+        result.put("hasMore", hasMore);
+        if (hasMore) {
+            Conversation last = pageRows.get(pageRows.size() - 1);
+            result.put("beforeAt", last.getLastMessageAt());
+            result.put("beforeId", last.getId());
+        }
+        return result;
+    }
+}
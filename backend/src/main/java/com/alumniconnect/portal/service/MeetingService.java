@@ -5,9 +5,9 @@ import com.alumniconnect.portal.entity.Mentorship;
 import com.alumniconnect.portal.entity.User;
 import com.alumniconnect.portal.repository.MeetingRepository;
 import com.alumniconnect.portal.repository.MentorshipRepository;
-import com.alumniconnect.portal.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,14 +23,14 @@ public class MeetingService {
     private MentorshipRepository mentorshipRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserCache userCache;
 
     public Meeting scheduleMeeting(Long mentorshipId, Long organizerId, Long participantId,
                                  String title, String description, LocalDateTime scheduledDate,
                                  Integer duration, Meeting.MeetingType meetingType) {
         Optional<Mentorship> mentorshipOpt = mentorshipRepository.findById(mentorshipId);
-        Optional<User> organizerOpt = userRepository.findById(organizerId);
-        Optional<User> participantOpt = userRepository.findById(participantId);
+        Optional<User> organizerOpt = userCache.findById(organizerId);
+        Optional<User> participantOpt = userCache.findById(participantId);
 
         if (mentorshipOpt.isPresent() && organizerOpt.isPresent() && participantOpt.isPresent()) {
             Meeting meeting = new Meeting();
@@ -60,6 +60,7 @@ public class MeetingService {
         return meetingRepository.findByUserIdAndDateRange(userId, startDate, endDate);
     }
 
+    @Transactional
     public Meeting updateMeetingStatus(Long meetingId, Meeting.Status status) {
         Optional<Meeting> meetingOpt = meetingRepository.findById(meetingId);
 
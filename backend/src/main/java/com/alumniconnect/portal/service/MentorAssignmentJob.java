@@ -0,0 +1,356 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.entity.JobCheckpoint;
+import com.alumniconnect.portal.entity.Mentorship;
+import com.alumniconnect.portal.entity.User;
+import com.alumniconnect.portal.repository.JobCheckpointRepository;
+import com.alumniconnect.portal.repository.MentorshipRepository;
+import com.alumniconnect.portal.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Works through the whole PENDING queue in id order and activates each request
+ * with a mentor under capacity: the requested mentor while they have room,
+ * otherwise the best match from MentorRecommendationEngine.
+ *
+ * Each chunk is one transaction holding a JDBC batch of updates and the
+ * JobCheckpoint row, so a run that stops part-way (failure or restart)
+ * resumes after the last committed request. Requests left PENDING for lack
+ * of capacity are behind the checkpoint and only retried by the next run.
+ *
+ * A request given to a mentor other than the one asked for takes its chat
+ * state along: the old mentor's conversation row and unread count move to the
+ * new mentor, and the mentee's row points at the new counterpart.
+ */
+@Service
+public class MentorAssignmentJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MentorAssignmentJob.class);
+
+    public static final String JOB_NAME = "mentor-auto-assignment";
+
+    // The status guard leaves requests accepted or rejected meanwhile untouched
+    private static final String ASSIGN_SQL =
+        "UPDATE mentorships SET mentor_id = ?, status = 'ACTIVE', start_date = ?, updated_at = ? " +
+        "WHERE id = ? AND status = 'PENDING'";
+
+    // Rows this run activated, for drivers that report batch counts as SUCCESS_NO_INFO
+    private static final String APPLIED_SQL =
+        "SELECT id, mentor_id FROM mentorships WHERE status = 'ACTIVE' AND updated_at = ? AND id IN (%s)";
+
+    private static final String MOVE_CONVERSATION_SQL =
+        "UPDATE conversations SET user_id = ? WHERE mentorship_id = ? AND user_id = ?";
+
+    private static final String RETARGET_CONVERSATION_SQL =
+        "UPDATE conversations SET counterpart_id = ? WHERE mentorship_id = ? AND user_id = ?";
+
+    @Autowired
+    private MentorshipRepository mentorshipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private MentorLoadIndex mentorLoadIndex;
+
+    @Autowired
+    private MentorRecommendationEngine recommendationEngine;
+
+    @Autowired
+    private ConversationService conversationService;
+
+    @Autowired
+    private UnreadCounterStore unreadCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${mentorships.assignment.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${mentorships.max-active-per-mentor:3}")
+    private int capacity;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Throughput of the current (or last) run in this process
+    private volatile long runStartedNanos;
+    private volatile long runProcessed;
+    private volatile double lastChunkRowsPerSecond;
+
+    // A checkpoint still RUNNING means the process stopped mid-run
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        checkpointRepository.findById(JOB_NAME)
+            .filter(checkpoint -> checkpoint.getStatus() == JobCheckpoint.Status.RUNNING)
+            .ifPresent(checkpoint -> {
+                log.info("Resuming mentor assignment after request {}", checkpoint.getLastProcessedId());
+                start(false);
+            });
+    }
+
+    /**
+     * Starts a run in the background and returns its initial progress. An
+     * unfinished run is resumed from its checkpoint unless fromStart is set.
+     */
+    public Map<String, Object> start(boolean fromStart) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Mentor assignment job already running");
+        }
+        try {
+            prepareCheckpoint(fromStart);
+            runStartedNanos = System.nanoTime();
+            runProcessed = 0;
+            lastChunkRowsPerSecond = 0;
+
+            Thread thread = new Thread(this::run, "mentor-assignment");
+            thread.setDaemon(true);
+            thread.start();
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return getProgress();
+    }
+
+    public Map<String, Object> getProgress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("jobName", JOB_NAME);
+        progress.put("running", running.get());
+
+        Optional<JobCheckpoint> checkpoint = checkpointRepository.findById(JOB_NAME);
+        checkpoint.ifPresent(c -> {
+            progress.put("status", c.getStatus());
+            progress.put("lastProcessedId", c.getLastProcessedId());
+            progress.put("processed", c.getProcessed());
+            progress.put("assigned", c.getSucceeded());
+            progress.put("skipped", c.getSkipped());
+            progress.put("chunks", c.getChunks());
+            progress.put("startedAt", c.getStartedAt());
+            progress.put("updatedAt", c.getUpdatedAt());
+            progress.put("finishedAt", c.getFinishedAt());
+            progress.put("lastError", c.getLastError());
+            progress.put("remaining", mentorshipRepository.countRequestsAfter(
+                Mentorship.Status.PENDING, c.getLastProcessedId()));
+        });
+        if (checkpoint.isEmpty()) {
+            progress.put("status", "NEVER_RUN");
+            progress.put("remaining", mentorshipRepository.countByStatus(Mentorship.Status.PENDING));
+        }
+
+        if (runStartedNanos != 0) {
+            double seconds = (System.nanoTime() - runStartedNanos) / 1_000_000_000.0;
+            progress.put("runProcessed", runProcessed);
+            progress.put("runSeconds", Math.round(seconds * 10) / 10.0);
+            progress.put("rowsPerSecond", seconds > 0 ? Math.round(runProcessed / seconds) : runProcessed);
+            progress.put("lastChunkRowsPerSecond", Math.round(lastChunkRowsPerSecond));
+        }
+        return progress;
+    }
+
+    private void prepareCheckpoint(boolean fromStart) {
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+            .filter(existing -> existing.isResumable() && !fromStart)
+            .orElseGet(() -> new JobCheckpoint(JOB_NAME));
+        checkpoint.setStatus(JobCheckpoint.Status.RUNNING);
+        checkpoint.setLastError(null);
+        checkpoint.setFinishedAt(null);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+    }
+
+    private void run() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            while (true) {
+                long chunkStarted = System.nanoTime();
+                // Committed and counted with no load index or unread rebuild in between; conversation
+                // rows are moved in the chunk, so it also keeps clear of a conversation rebuild
+                Chunk chunk = mentorLoadIndex.whileNotRebuilding(() -> unreadCounters.whileNotRebuilding(() -> {
+                    Chunk committed = conversationService.whileNotRebuilding(
+                        () -> transaction.execute(status -> assignChunk()));
+                    for (Assignment assignment : committed.assigned) {
+                        mentorLoadIndex.adjust(assignment.mentorId, 1);
+                        if (assignment.isReassignment()) {
+                            unreadCounters.transfer(assignment.requestedMentorId, assignment.mentorId, assignment.requestId);
+                        }
+                    }
+                    return committed;
+                }));
+                if (chunk.processed == 0) break;
+
+                runProcessed += chunk.processed;
+                double seconds = (System.nanoTime() - chunkStarted) / 1_000_000_000.0;
+                lastChunkRowsPerSecond = seconds > 0 ? chunk.processed / seconds : chunk.processed;
+            }
+            log.info("Mentor assignment finished: {} requests processed", runProcessed);
+        } catch (RuntimeException e) {
+            // Chunks committed so far stay; the next start resumes from the checkpoint
+            log.warn("Mentor assignment failed after {} requests", runProcessed, e);
+            recordFailure(transaction, e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Chunk assignChunk() {
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+            .orElseThrow(() -> new RuntimeException("Job checkpoint not found"));
+        // Millisecond precision survives every DATETIME/TIMESTAMP column, so APPLIED_SQL can match it exactly
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        List<MentorshipRepository.Request> requests = mentorshipRepository.findRequestsAfter(
+            Mentorship.Status.PENDING, checkpoint.getLastProcessedId(), PageRequest.of(0, chunkSize));
+        if (requests.isEmpty()) {
+            checkpoint.setStatus(JobCheckpoint.Status.COMPLETED);
+            checkpoint.setFinishedAt(now);
+            checkpoint.setUpdatedAt(now);
+            return new Chunk(0, List.of());
+        }
+
+        Set<Long> menteeIds = new HashSet<>();
+        for (MentorshipRepository.Request request : requests) {
+            menteeIds.add(request.getMenteeId());
+        }
+        Map<Long, User> mentees = new HashMap<>();
+        for (User mentee : userRepository.findAllById(menteeIds)) {
+            mentees.put(mentee.getId(), mentee);
+        }
+        // Mentors each mentee already has, plus the mentee themself
+        Map<Long, Set<Long>> excluded = new HashMap<>();
+        for (Long menteeId : menteeIds) {
+            excluded.put(menteeId, new HashSet<>(List.of(menteeId)));
+        }
+        for (MentorshipRepository.Pair pair :
+                mentorshipRepository.findPairsByMenteeIdInAndStatus(menteeIds, Mentorship.Status.ACTIVE)) {
+            excluded.get(pair.getMenteeId()).add(pair.getMentorId());
+        }
+
+        // Assignments made earlier in this chunk are not in the load index until it commits
+        Map<Long, Integer> planned = new HashMap<>();
+        List<Object[]> batch = new ArrayList<>(requests.size());
+        List<Assignment> assignments = new ArrayList<>(requests.size());
+        Timestamp timestamp = Timestamp.valueOf(now);
+        for (MentorshipRepository.Request request : requests) {
+            Set<Long> exclude = excluded.get(request.getMenteeId());
+            Long mentorId = chooseMentor(request, mentees.get(request.getMenteeId()), exclude, planned);
+            if (mentorId == null) continue;
+
+            planned.merge(mentorId, 1, Integer::sum);
+            exclude.add(mentorId);
+            batch.add(new Object[] {mentorId, timestamp, timestamp, request.getId()});
+            assignments.add(new Assignment(request.getId(), request.getMenteeId(), request.getMentorId(), mentorId));
+        }
+
+        List<Assignment> assigned = batch.isEmpty() ? List.of() : applied(assignments,
+            jdbcTemplate.batchUpdate(ASSIGN_SQL, batch), timestamp);
+        moveConversations(assigned);
+
+        checkpoint.setLastProcessedId(requests.get(requests.size() - 1).getId());
+        checkpoint.setProcessed(checkpoint.getProcessed() + requests.size());
+        checkpoint.setSucceeded(checkpoint.getSucceeded() + assigned.size());
+        checkpoint.setSkipped(checkpoint.getSkipped() + requests.size() - assigned.size());
+        checkpoint.setChunks(checkpoint.getChunks() + 1);
+        checkpoint.setUpdatedAt(now);
+        return new Chunk(requests.size(), assigned);
+    }
+
+    // The status guard may have matched nothing (accepted or rejected meanwhile); only count rows it changed
+    private List<Assignment> applied(List<Assignment> assignments, int[] counts, Timestamp timestamp) {
+        List<Assignment> applied = new ArrayList<>(assignments.size());
+        Map<Long, Assignment> unconfirmed = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                applied.add(assignments.get(i));
+            } else if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                unconfirmed.put(assignments.get(i).requestId, assignments.get(i));
+            }
+        }
+        if (!unconfirmed.isEmpty()) {
+            List<Object> args = new ArrayList<>(unconfirmed.size() + 1);
+            args.add(timestamp);
+            args.addAll(unconfirmed.keySet());
+            String sql = String.format(APPLIED_SQL, String.join(",", Collections.nCopies(unconfirmed.size(), "?")));
+            jdbcTemplate.query(sql, rs -> {
+                Assignment assignment = unconfirmed.get(rs.getLong("id"));
+                if (assignment.mentorId == rs.getLong("mentor_id")) {
+                    applied.add(assignment);
+                }
+            }, args.toArray());
+        }
+        return applied;
+    }
+
+    private void moveConversations(List<Assignment> assigned) {
+        List<Object[]> moves = new ArrayList<>();
+        List<Object[]> retargets = new ArrayList<>();
+        for (Assignment assignment : assigned) {
+            if (!assignment.isReassignment()) continue;
+            moves.add(new Object[] {assignment.mentorId, assignment.requestId, assignment.requestedMentorId});
+            retargets.add(new Object[] {assignment.mentorId, assignment.requestId, assignment.menteeId});
+        }
+        if (!moves.isEmpty()) {
+            jdbcTemplate.batchUpdate(MOVE_CONVERSATION_SQL, moves);
+            jdbcTemplate.batchUpdate(RETARGET_CONVERSATION_SQL, retargets);
+        }
+    }
+
+    private Long chooseMentor(MentorshipRepository.Request request, User mentee, Set<Long> exclude,
+                              Map<Long, Integer> planned) {
+        // Keep the mentor the mentee asked for while they have room
+        Long requested = request.getMentorId();
+        if (!exclude.contains(requested) && mentorLoadIndex.isMentor(requested)
+                && mentorLoadIndex.getLoad(requested) + planned.getOrDefault(requested, 0) < capacity) {
+            return requested;
+        }
+        if (mentee == null) return null;
+
+        List<MentorRecommendationEngine.Candidate> best = recommendationEngine.topK(mentee, 1, capacity, exclude,
+            mentorId -> planned.getOrDefault(mentorId, 0));
+        return best.isEmpty() ? null : best.get(0).getMentorId();
+    }
+
+    private void recordFailure(TransactionTemplate transaction, RuntimeException failure) {
+        try {
+            transaction.executeWithoutResult(status -> checkpointRepository.findById(JOB_NAME).ifPresent(checkpoint -> {
+                checkpoint.setStatus(JobCheckpoint.Status.FAILED);
+                checkpoint.setLastError(failure.getMessage());
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+            }));
+        } catch (RuntimeException e) {
+            // Left RUNNING, so the next startup resumes it
+            log.warn("Failed to record mentor assignment failure", e);
+        }
+    }
+
+    private record Chunk(int processed, List<Assignment> assigned) {}
+
+    private record Assignment(long requestId, long menteeId, long requestedMentorId, long mentorId) {
+        boolean isReassignment() {
+            return requestedMentorId != mentorId;
+        }
+    }
+}
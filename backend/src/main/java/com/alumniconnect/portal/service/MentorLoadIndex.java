@@ -0,0 +1,262 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.entity.Mentorship;
+import com.alumniconnect.portal.repository.MentorshipRepository;
+import com.alumniconnect.portal.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory count of ACTIVE mentorships per available mentor (verified and
+ * active alumni).
+ *
+ * Built once from the database and then kept current by MentorshipService and
+ * UserService, so load reads never go back to the mentorships table. Mentors are
+ * also kept ordered by load, which makes the least-loaded lookup O(log n).
+ * A rebuild fills a new Index and swaps it in, holding the write lock so no
+ * update lands in the old one meanwhile; updates share the read lock.
+ * Callers that commit a status change and then adjust the load do both
+ * inside whileNotRebuilding, so a rebuild never counts a committed change
+ * whose adjustment is still to come.
+ */
+@Service
+public class MentorLoadIndex {
+
+    @Autowired
+    private MentorshipRepository mentorshipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private volatile Index index = new Index();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<LoadListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean loaded = false;
+
+    /**
+     * Notified after each change to the index, on the thread that made it.
+     */
+    public interface LoadListener {
+        default void onLoadChanged(long mentorId, int load) {}
+        default void onMentorAdded(long mentorId) {}
+        default void onMentorRemoved(long mentorId) {}
+        default void onRebuilt() {}
+    }
+
+    public void addListener(LoadListener listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureLoaded();
+    }
+
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            Map<Long, Integer> activeLoads = new HashMap<>();
+            for (MentorshipRepository.MentorCount row :
+                    mentorshipRepository.countByStatusGroupedByMentor(Mentorship.Status.ACTIVE)) {
+                activeLoads.put(row.getMentorId(), row.getTotal().intValue());
+            }
+
+            Index rebuilt = new Index();
+            for (Long mentorId : userRepository.findAvailableAlumniIds()) {
+                int load = activeLoads.getOrDefault(mentorId, 0);
+                rebuilt.loads.put(mentorId, load);
+                rebuilt.byLoad.add(new Slot(load, mentorId));
+            }
+            index = rebuilt;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        listeners.forEach(LoadListener::onRebuilt);
+    }
+
+    // Runs a database change and the matching adjust() with no rebuild in between
+    public <T> T whileNotRebuilding(Supplier<T> commitAndAdjust) {
+        ensureLoaded(); // a first rebuild needs the write lock, which cannot be taken under the read lock
+        lock.readLock().lock();
+        try {
+            return commitAndAdjust.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getLoad(Long mentorId) {
+        ensureLoaded();
+        return index.loads.getOrDefault(mentorId, 0);
+    }
+
+    public boolean isMentor(Long mentorId) {
+        ensureLoaded();
+        return index.loads.containsKey(mentorId);
+    }
+
+    public int getMentorCount() {
+        ensureLoaded();
+        return index.loads.size();
+    }
+
+    public Optional<Long> findLeastLoaded(int capacity) {
+        ensureLoaded();
+        Slot first = index.byLoad.ceiling(new Slot(Integer.MIN_VALUE, Long.MIN_VALUE));
+        if (first == null || first.load >= capacity) {
+            return Optional.empty();
+        }
+        return Optional.of(first.mentorId);
+    }
+
+    // A reactivated mentor may still have ACTIVE mentorships, so the load is read from the database
+    public void registerMentor(Long mentorId) {
+        if (!loaded) return; // picked up by the initial rebuild
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            if (!current.loads.containsKey(mentorId)) {
+                // Counted outside the map, so no database call runs inside a ConcurrentHashMap bin lock
+                int load = (int) mentorshipRepository.countByMentorIdAndStatus(mentorId, Mentorship.Status.ACTIVE);
+                if (current.loads.putIfAbsent(mentorId, load) == null) {
+                    current.byLoad.add(new Slot(load, mentorId));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        listeners.forEach(listener -> listener.onMentorAdded(mentorId));
+    }
+
+    public void removeMentor(Long mentorId) {
+        if (!loaded) return;
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            current.loads.computeIfPresent(mentorId, (id, load) -> {
+                current.byLoad.remove(new Slot(load, id));
+                return null;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        listeners.forEach(listener -> listener.onMentorRemoved(mentorId));
+    }
+
+    public void onStatusChange(Long mentorId, Mentorship.Status oldStatus, Mentorship.Status newStatus) {
+        if (mentorId == null || oldStatus == newStatus) return;
+
+        if (newStatus == Mentorship.Status.ACTIVE) {
+            adjust(mentorId, 1);
+        } else if (oldStatus == Mentorship.Status.ACTIVE) {
+            adjust(mentorId, -1);
+        }
+    }
+
+    public void adjust(Long mentorId, int delta) {
+        if (!loaded) return;
+        // compute() serializes updates per mentor; the skip list handles the rest concurrently
+        Integer updated;
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            updated = current.loads.computeIfPresent(mentorId, (id, load) -> {
+                int next = Math.max(0, load + delta);
+                current.byLoad.remove(new Slot(load, id));
+                current.byLoad.add(new Slot(next, id));
+                return next;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (updated != null) {
+            listeners.forEach(listener -> listener.onLoadChanged(mentorId, updated));
+        }
+    }
+
+    /**
+     * Creates a private copy of the mentors that are under capacity, for batch
+     * planning runs that simulate assignments without touching the live counts.
+     */
+    public Planner newPlanner(int capacity) {
+        ensureLoaded();
+        return new Planner(index.byLoad.headSet(new Slot(capacity, Long.MIN_VALUE)), capacity);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) rebuild();
+            }
+        }
+    }
+
+    public static class Planner {
+        private final PriorityQueue<Slot> queue;
+        private final int capacity;
+
+        private Planner(Collection<Slot> slots, int capacity) {
+            this.queue = new PriorityQueue<>(slots);
+            this.capacity = capacity;
+        }
+
+        // Returns the least-loaded mentor and counts one more mentorship against it
+        public Long assignNext() {
+            Slot slot = queue.poll();
+            if (slot == null) return null;
+
+            if (slot.load + 1 < capacity) {
+                queue.add(new Slot(slot.load + 1, slot.mentorId));
+            }
+            return slot.mentorId;
+        }
+
+        public boolean hasCapacity() {
+            return !queue.isEmpty();
+        }
+    }
+
+    // Loads and the same mentors ordered by load, always replaced together
+    private static final class Index {
+        private final ConcurrentHashMap<Long, Integer> loads = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListSet<Slot> byLoad = new ConcurrentSkipListSet<>();
+    }
+
+    private static final class Slot implements Comparable<Slot> {
+        private final int load;
+        private final long mentorId;
+
+        private Slot(int load, long mentorId) {
+            this.load = load;
+            this.mentorId = mentorId;
+        }
+
+        @Override
+        public int compareTo(Slot other) {
+            int byLoad = Integer.compare(load, other.load);
+            return byLoad != 0 ? byLoad : Long.compare(mentorId, other.mentorId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Slot)) return false;
+            Slot other = (Slot) o;
+            return load == other.load && mentorId == other.mentorId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(load, mentorId);
+        }
+    }
+}
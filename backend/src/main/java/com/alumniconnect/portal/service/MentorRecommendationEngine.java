@@ -0,0 +1,417 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.entity.Mentorship;
+import com.alumniconnect.portal.entity.User;
+import com.alumniconnect.portal.repository.MentorshipRepository;
+import com.alumniconnect.portal.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Scores verified alumni as mentors for a mentee on industry, major,
+ * university, location, experience, average mentor rating and current load.
+ *
+ * Mentor features are precomputed into primitive arrays, with strings
+ * dictionary-encoded to ints, so scoring a mentor touches no objects. Top-k
+ * runs as a fork/join scan over slices of the arrays, each keeping a bounded
+ * heap, and the heaps are merged. Loads are pushed in by MentorLoadIndex as
+ * they change. Profile changes mark the features stale, and they are rebuilt
+ * on the next refresh (recommendations.refresh-ms).
+ */
+@Service
+public class MentorRecommendationEngine implements MentorLoadIndex.LoadListener {
+
+    private static final double INDUSTRY_WEIGHT = 3.0;
+    private static final double MAJOR_WEIGHT = 2.0;
+    private static final double UNIVERSITY_WEIGHT = 1.5;
+    private static final double LOCATION_WEIGHT = 1.0;
+    private static final double EXPERIENCE_WEIGHT = 1.0;
+    private static final double RATING_WEIGHT = 1.5;
+    private static final double LOAD_WEIGHT = 2.0;
+    private static final int EXPERIENCE_CAP_YEARS = 20;
+    private static final float DEFAULT_RATING = 3.0f;
+    private static final int LEAF_SIZE = 4096;
+    private static final int MAX_RESULTS = 50;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MentorshipRepository mentorshipRepository;
+
+    @Autowired
+    private MentorLoadIndex mentorLoadIndex;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Value("${mentorships.max-active-per-mentor:3}")
+    private int capacity;
+
+    private volatile Features features;
+    private volatile boolean dirty = true;
+
+    @PostConstruct
+    public void registerListener() {
+        mentorLoadIndex.addListener(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Map<Long, Float> ratings = new HashMap<>();
+        for (MentorshipRepository.MentorRating row : mentorshipRepository.averageMentorRatings()) {
+            ratings.put(row.getMentorId(), row.getRating().floatValue());
+        }
+        // Cleared first, so a change arriving during the rebuild schedules another one
+        dirty = false;
+        Features rebuilt = new Features(userRepository.findMentorProfiles(), ratings, mentorLoadIndex);
+        features = rebuilt;
+        // Listener calls made while building went to the old snapshot; catch up once the new one is visible
+        rebuilt.syncLoads(mentorLoadIndex);
+    }
+
+    public void markStale() {
+        dirty = true;
+    }
+
+    @Scheduled(fixedDelayString = "${recommendations.refresh-ms:60000}")
+    public void refreshIfDirty() {
+        if (dirty) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void onLoadChanged(long mentorId, int load) {
+        Features current = features;
+        if (current != null) {
+            current.setLoad(mentorId, load);
+        }
+    }
+
+    @Override
+    public void onMentorAdded(long mentorId) {
+        dirty = true;
+    }
+
+    @Override
+    public void onMentorRemoved(long mentorId) {
+        Features current = features;
+        if (current != null) {
+            current.deactivate(mentorId);
+        }
+        dirty = true;
+    }
+
+    @Override
+    public void onRebuilt() {
+        dirty = true;
+    }
+
+    public List<Map<String, Object>> recommend(Long menteeId, int limit) {
+        User mentee = userCache.findById(menteeId)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        Set<Long> exclude = new HashSet<>(mentorshipRepository.findMentorIdsByMenteeIdAndStatus(menteeId, Mentorship.Status.ACTIVE));
+        exclude.add(menteeId);
+        
+        Features current = features();
+        List<Candidate> candidates = topK(current, mentee, Math.max(1, Math.min(limit, MAX_RESULTS)),
+            capacity, exclude, null);
+        List<Map<String, Object>> results = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            int i = candidate.position;
+            Map<String, Object> result = new HashMap<>();
+            result.put("mentorId", candidate.mentorId);
+            result.put("name", current.names[i]);
+            result.put("score", Math.round(candidate.score * 1000) / 1000.0);
+            result.put("currentLoad", current.loads[i]);
+            result.put("rating", current.ratings[i]);
+            result.put("matchReasons", current.reasons(i, current.encode(mentee)));
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Best k mentors under capacity for the mentee, best first. extraLoad adds
+     * load on top of the live count, for callers planning several assignments
+     * before they are committed; it may be null.
+     */
+    public List<Candidate> topK(User mentee, int k, int capacity, Set<Long> exclude, LongToIntFunction extraLoad) {
+        return topK(features(), mentee, k, capacity, exclude, extraLoad);
+    }
+
+    // Candidate positions index into current, so recommend() reads its details from the same snapshot
+    private List<Candidate> topK(Features current, User mentee, int k, int capacity, Set<Long> exclude,
+                                 LongToIntFunction extraLoad) {
+        Query query = new Query(current.encode(mentee), capacity, exclude, extraLoad);
+        
+        TopK top = current.size <= LEAF_SIZE
+            ? new ScanTask(current, query, k, 0, current.size).compute()
+            : ForkJoinPool.commonPool().invoke(new ScanTask(current, query, k, 0, current.size));
+        return top.sortedCandidates(current);
+    }
+
+    private Features features() {
+        Features current = features;
+        if (current == null) {
+            rebuild();
+            current = features;
+        }
+        return current;
+    }
+
+    public static final class Candidate {
+        private final long mentorId;
+        private final int position;
+        private final double score;
+
+        private Candidate(long mentorId, int position, double score) {
+            this.mentorId = mentorId;
+            this.position = position;
+            this.score = score;
+        }
+
+        public long getMentorId() { return mentorId; }
+        public double getScore() { return score; }
+    }
+
+    // Mentee features in the mentors' encoding
+    private record MenteeCodes(int industry, int major, int university, int location) {}
+
+    private record Query(MenteeCodes mentee, int capacity, Set<Long> exclude, LongToIntFunction extraLoad) {}
+
+    private static final class Features {
+        private final int size;
+        private final long[] mentorIds;
+        private final String[] names;
+        private final int[] industries;
+        private final int[] majors;
+        private final int[] universities;
+        private final int[] locations;
+        private final float[] experience;
+        private final float[] ratings;
+        // Written by load listeners without locking; a stale read only skews one ranking
+        private final int[] loads;
+        private final boolean[] active;
+        private final Map<Long, Integer> positions;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        private Features(List<UserRepository.MentorProfile> profiles, Map<Long, Float> ratingsByMentor,
+                         MentorLoadIndex loadIndex) {
+            size = profiles.size();
+            mentorIds = new long[size];
+            names = new String[size];
+            industries = new int[size];
+            majors = new int[size];
+            universities = new int[size];
+            locations = new int[size];
+            experience = new float[size];
+            ratings = new float[size];
+            loads = new int[size];
+            active = new boolean[size];
+            positions = new HashMap<>(size * 2);
+            
+            for (int i = 0; i < size; i++) {
+                UserRepository.MentorProfile profile = profiles.get(i);
+                mentorIds[i] = profile.getId();
+                names[i] = profile.getFirstName() + " " + profile.getLastName();
+                industries[i] = intern("industry:", profile.getIndustry());
+                majors[i] = intern("major:", profile.getMajor());
+                universities[i] = intern("university:", profile.getUniversity());
+                locations[i] = intern("location:", profile.getLocation());
+                int years = profile.getExperience() != null ? profile.getExperience() : 0;
+                experience[i] = (float) Math.min(years, EXPERIENCE_CAP_YEARS) / EXPERIENCE_CAP_YEARS;
+                ratings[i] = ratingsByMentor.getOrDefault(profile.getId(), DEFAULT_RATING);
+                loads[i] = loadIndex.getLoad(profile.getId());
+                active[i] = true;
+                positions.put(profile.getId(), i);
+            }
+        }
+
+        private int intern(String feature, String value) {
+            if (value == null || value.isBlank()) return -1;
+            return dictionary.computeIfAbsent(feature + value.trim().toLowerCase(Locale.ROOT), key -> dictionary.size());
+        }
+
+        // Values no mentor has get -2, which matches nothing (and differs from the mentors' -1 for unset)
+        private int lookup(String feature, String value) {
+            if (value == null || value.isBlank()) return -2;
+            return dictionary.getOrDefault(feature + value.trim().toLowerCase(Locale.ROOT), -2);
+        }
+
+        private MenteeCodes encode(User mentee) {
+            return new MenteeCodes(lookup("industry:", mentee.getIndustry()), lookup("major:", mentee.getMajor()),
+                lookup("university:", mentee.getUniversity()), lookup("location:", mentee.getLocation()));
+        }
+
+        private void setLoad(long mentorId, int load) {
+            Integer position = positions.get(mentorId);
+            if (position != null) loads[position] = load;
+        }
+
+        private void syncLoads(MentorLoadIndex loadIndex) {
+            for (int i = 0; i < size; i++) {
+                loads[i] = loadIndex.getLoad(mentorIds[i]);
+                if (!loadIndex.isMentor(mentorIds[i])) active[i] = false;
+            }
+        }
+
+        private void deactivate(long mentorId) {
+            Integer position = positions.get(mentorId);
+            if (position != null) active[position] = false;
+        }
+
+        private double score(int i, MenteeCodes mentee, int load, int capacity) {
+            double score = 0;
+            if (industries[i] == mentee.industry()) score += INDUSTRY_WEIGHT;
+            if (majors[i] == mentee.major()) score += MAJOR_WEIGHT;
+            if (universities[i] == mentee.university()) score += UNIVERSITY_WEIGHT;
+            if (locations[i] == mentee.location()) score += LOCATION_WEIGHT;
+            score += EXPERIENCE_WEIGHT * experience[i];
+            score += RATING_WEIGHT * (ratings[i] - 1) / 4;
+            score -= LOAD_WEIGHT * load / capacity;
+            return score;
+        }
+
+        private List<String> reasons(int i, MenteeCodes mentee) {
+            List<String> reasons = new ArrayList<>();
+            if (industries[i] == mentee.industry()) reasons.add("Same industry");
+            if (majors[i] == mentee.major()) reasons.add("Same major");
+            if (universities[i] == mentee.university()) reasons.add("Same university");
+            if (locations[i] == mentee.location()) reasons.add("Same location");
+            if (experience[i] >= 0.5f) reasons.add("Experienced mentor");
+            if (ratings[i] >= 4.0f) reasons.add("Highly rated");
+            if (loads[i] == 0) reasons.add("Available now");
+            return reasons;
+        }
+    }
+
+    private static final class ScanTask extends RecursiveTask<TopK> {
+        private static final long serialVersionUID = 1L;
+
+        private final Features features;
+        private final Query query;
+        private final int k;
+        private final int from;
+        private final int to;
+
+        private ScanTask(Features features, Query query, int k, int from, int to) {
+            this.features = features;
+            this.query = query;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from > LEAF_SIZE) {
+                int middle = (from + to) >>> 1;
+                ScanTask left = new ScanTask(features, query, k, from, middle);
+                left.fork();
+                TopK right = new ScanTask(features, query, k, middle, to).compute();
+                right.mergeFrom(left.join());
+                return right;
+            }
+            
+            TopK top = new TopK(k);
+            for (int i = from; i < to; i++) {
+                if (!features.active[i]) continue;
+                long mentorId = features.mentorIds[i];
+                int load = features.loads[i];
+                if (query.extraLoad() != null) {
+                    load += query.extraLoad().applyAsInt(mentorId);
+                }
+                if (load >= query.capacity()) continue;
+                double score = features.score(i, query.mentee(), load, query.capacity());
+                // Only mentors that would make the heap pay for the boxed lookup
+                if (!top.accepts(score) || query.exclude().contains(mentorId)) continue;
+                top.offer(score, i);
+            }
+            return top;
+        }
+    }
+
+    // Bounded min-heap of (score, position) in parallel primitive arrays
+    private static final class TopK {
+        private final double[] scores;
+        private final int[] positions;
+        private int size;
+
+        private TopK(int capacity) {
+            scores = new double[capacity];
+            positions = new int[capacity];
+        }
+
+        private boolean accepts(double score) {
+            return size < scores.length || score > scores[0];
+        }
+
+        private void offer(double score, int position) {
+            if (size < scores.length) {
+                scores[size] = score;
+                positions[size] = position;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                scores[0] = score;
+                positions[0] = position;
+                siftDown(0);
+            }
+        }
+
+        private void mergeFrom(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.scores[i], other.positions[i]);
+            }
+        }
+
+        private List<Candidate> sortedCandidates(Features features) {
+            List<Candidate> candidates = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                candidates.add(new Candidate(features.mentorIds[positions[i]], positions[i], scores[i]));
+            }
+            candidates.sort((a, b) -> Double.compare(b.score, a.score));
+            return candidates;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) break;
+                int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+                if (scores[i] <= scores[smallest]) break;
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+            int position = positions[a];
+            positions[a] = positions[b];
+            positions[b] = position;
+        }
+    }
+}
@@ -14,6 +14,9 @@ public class MentorshipService {
     @Autowired
     private MentorshipRepository mentorshipRepository;
 
+    @Autowired
+    private MentorLoadIndex mentorLoadIndex;
+
     public Mentorship createMentorship(Mentorship mentorship) {
         mentorship.setCreatedAt(LocalDateTime.now());
         mentorship.setUpdatedAt(LocalDateTime.now());
@@ -26,18 +29,31 @@ public class MentorshipService {
     }
 
     public Mentorship updateStatus(Long id, Mentorship.Status status, String responseMessage) {
-        Mentorship mentorship = mentorshipRepository.findById(id)
+        Mentorship mentorship = mentorshipRepository.findWithParticipantsById(id)
                 .orElseThrow(() -> new RuntimeException("Mentorship not found"));
         
-        mentorship.setStatus(status);
-        mentorship.setResponseMessage(responseMessage);
-        mentorship.setUpdatedAt(LocalDateTime.now());
+        Mentorship.Status previousStatus = mentorship.getStatus();
+        Long mentorId = mentorship.getMentor().getId();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startDate = status == Mentorship.Status.ACCEPTED ? now : mentorship.getStartDate();
         
-        if (status == Mentorship.Status.ACCEPTED) {
-            mentorship.setStartDate(LocalDateTime.now());
-        }
+        // A conditional UPDATE rather than saving the whole entity read above; committed and counted
+        // with no load index rebuild in between
+        mentorLoadIndex.whileNotRebuilding(() -> {
+            int updated = mentorshipRepository.updateStatusIfUnchanged(id, previousStatus, mentorId,
+                status, responseMessage, startDate, now);
+            if (updated == 0) {
+                throw new RuntimeException("Mentorship was changed meanwhile, please reload and retry");
+            }
+            mentorLoadIndex.onStatusChange(mentorId, previousStatus, status);
+            return updated;
+        });
         
-        return mentorshipRepository.save(mentorship);
+        mentorship.setStatus(status);
+        mentorship.setResponseMessage(responseMessage);
+        mentorship.setStartDate(startDate);
+        mentorship.setUpdatedAt(now);
+        return mentorship;
     }
 
     public List<Mentorship> getAllMentorships() {
@@ -0,0 +1,314 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.entity.User;
+import com.alumniconnect.portal.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over user names, for typo-tolerant autocomplete.
+ *
+ * Names are normalized (lower case, accents stripped) and split into padded
+ * trigrams. Each trigram maps to a posting list of dense int slots, one
+ * slot per indexed user. A query counts the trigrams it shares with each
+ * candidate, so a typo costs a few trigrams instead of the match. The last
+ * query word is treated as a prefix, and prefix matches rank above fuzzy
+ * ones.
+ *
+ * Built from the users table at startup and kept current by UserService.
+ * Updates and deletes only mark the old slot dead; the postings are
+ * compacted once a quarter of the slots are dead.
+ */
+@Service
+public class NameSearchIndex {
+
+    private static final int MAX_RESULTS = 50;
+    private static final double MIN_SIMILARITY = 0.3;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Entry[] entries = new Entry[1024];
+    private int slotCount;
+    private int deadCount;
+    private final Map<Long, Integer> slotsByUserId = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            try (Stream<UserRepository.UserNameEntry> rows = userRepository.streamNameEntries()) {
+                rows.forEach(row -> add(row.getId(), row.getFirstName(), row.getLastName(), row.getRole()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(User user) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(user.getId());
+            add(user.getId(), user.getFirstName(), user.getLastName(), user.getRole());
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(userId);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Best matches first; role narrows to one kind of user when given
+    public List<Map<String, Object>> search(String text, User.Role role, int limit) {
+        String[] tokens = tokenize(text);
+        if (tokens.length == 0) {
+            return new ArrayList<>();
+        }
+        Set<Long> queryGrams = new HashSet<>();
+        for (int i = 0; i < tokens.length; i++) {
+            addTrigrams(tokens[i], i < tokens.length - 1, queryGrams);
+        }
+        int k = Math.max(1, Math.min(limit, MAX_RESULTS));
+        
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(queryGrams.size());
+            int walked = 0;
+            for (Long gram : queryGrams) {
+                Postings list = postings.get(gram);
+                if (list == null) continue;
+                lists.add(list);
+                walked += list.size;
+            }
+            SlotCounts counts = new SlotCounts(walked);
+            for (Postings list : lists) {
+                for (int i = 0; i < list.size; i++) {
+                    counts.increment(list.slots[i]);
+                }
+            }
+            
+            // Min-heap of the best k so far
+            PriorityQueue<Match> top = new PriorityQueue<>(k + 1);
+            for (int i = 0; i < counts.keys.length; i++) {
+                if (counts.keys[i] == 0) continue;
+                Entry entry = entries[counts.keys[i] - 1];
+                if (entry == null || (role != null && entry.role != role)) continue;
+                
+                double similarity = (double) counts.counts[i] / queryGrams.size();
+                if (similarity < MIN_SIMILARITY) continue;
+                Match match = new Match(entry, similarity + prefixBonus(entry, tokens));
+                if (top.size() < k) {
+                    top.add(match);
+                } else if (match.compareTo(top.peek()) > 0) {
+                    top.poll();
+                    top.add(match);
+                }
+            }
+            
+            List<Match> ranked = new ArrayList<>(top);
+            ranked.sort(Comparator.reverseOrder());
+            List<Map<String, Object>> results = new ArrayList<>(ranked.size());
+            for (Match match : ranked) {
+                Map<String, Object> result = new HashMap<>();
+                result.put("id", match.entry.userId);
+                result.put("firstName", match.entry.firstName);
+                result.put("lastName", match.entry.lastName);
+                result.put("role", match.entry.role);
+                result.put("score", match.score);
+                results.add(result);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByUserId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 1 when every query word starts some name word, 0.5 when at least one does
+    private static double prefixBonus(Entry entry, String[] queryTokens) {
+        int matched = 0;
+        for (String queryToken : queryTokens) {
+            for (String nameToken : entry.tokens) {
+                if (nameToken.startsWith(queryToken)) {
+                    matched++;
+                    break;
+                }
+            }
+        }
+        if (matched == queryTokens.length) return 1.0;
+        return matched > 0 ? 0.5 : 0.0;
+    }
+
+    // Caller holds the write lock
+    private void add(Long userId, String firstName, String lastName, User.Role role) {
+        String[] tokens = tokenize(firstName + " " + lastName);
+        Entry entry = new Entry(userId, firstName, lastName, role, tokens);
+        if (slotCount == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        int slot = slotCount++;
+        entries[slot] = entry;
+        slotsByUserId.put(userId, slot);
+        
+        Set<Long> grams = new HashSet<>();
+        for (String token : tokens) {
+            addTrigrams(token, true, grams);
+        }
+        for (Long gram : grams) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+        }
+    }
+
+    // Caller holds the write lock
+    private void removeSlot(Long userId) {
+        Integer slot = slotsByUserId.remove(userId);
+        if (slot != null) {
+            entries[slot] = null;
+            deadCount++;
+        }
+    }
+
+    // Caller holds the write lock
+    private void compactIfSparse() {
+        if (deadCount > 1024 && deadCount * 4 > slotCount) {
+            List<Entry> live = new ArrayList<>(slotsByUserId.size());
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (entries[slot] != null) live.add(entries[slot]);
+            }
+            clear();
+            for (Entry entry : live) {
+                add(entry.userId, entry.firstName, entry.lastName, entry.role);
+            }
+        }
+    }
+
+    private void clear() {
+        entries = new Entry[1024];
+        slotCount = 0;
+        deadCount = 0;
+        slotsByUserId.clear();
+        postings.clear();
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null) return new String[0];
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .toLowerCase(Locale.ROOT)
+            .replaceAll("[^\\p{L}\\p{N}]+", " ")
+            .trim();
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    // Padded "  ab " style trigrams; a prefix token gets no end padding, so "jo" matches "john"
+    private static void addTrigrams(String token, boolean complete, Set<Long> into) {
+        String padded = "  " + token + (complete ? " " : "");
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            into.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+    }
+
+    private static final class Entry {
+        private final long userId;
+        private final String firstName;
+        private final String lastName;
+        private final User.Role role;
+        private final String[] tokens;
+
+        private Entry(long userId, String firstName, String lastName, User.Role role, String[] tokens) {
+            this.userId = userId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.role = role;
+            this.tokens = tokens;
+        }
+    }
+
+    private static final class Match implements Comparable<Match> {
+        private final Entry entry;
+        private final double score;
+
+        private Match(Entry entry, double score) {
+            this.entry = entry;
+            this.score = score;
+        }
+
+        // Higher score first, then the shorter (closer) name, then the lower id
+        @Override
+        public int compareTo(Match other) {
+            int byScore = Double.compare(score, other.score);
+            if (byScore != 0) return byScore;
+            int byLength = Integer.compare(other.entry.tokens.length, entry.tokens.length);
+            if (byLength != 0) return byLength;
+            return Long.compare(other.entry.userId, entry.userId);
+        }
+    }
+
+    // Growable int array of slots
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        private void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+
+    // Shared-trigram count per candidate slot, open addressed and sized to the postings a
+    // query walks, so its memory follows the query rather than the number of users
+    private static final class SlotCounts {
+        private final int[] keys; // slot + 1, 0 when empty
+        private final int[] counts;
+        private final int mask;
+
+        private SlotCounts(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+            keys = new int[capacity];
+            counts = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        private void increment(int slot) {
+            int h = slot * 0x9E3779B9;
+            int i = (h ^ (h >>> 16)) & mask;
+            while (keys[i] != 0 && keys[i] != slot + 1) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = slot + 1;
+            counts[i]++;
+        }
+    }
+}
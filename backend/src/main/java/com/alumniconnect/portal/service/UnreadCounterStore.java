@@ -0,0 +1,112 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.repository.ChatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Unread message counts per user and mentorship, held in memory so unread
+ * badges never run a COUNT query. Rebuilt from the chats table at startup and
+ * kept current by ChatService as messages are sent and read.
+ *
+ * Counters are plain signed sums of increments (one per committed message)
+ * and decrements (rows an UPDATE actually marked read). A mark-read can commit
+ * before the increment for a message it covered is applied, so a counter may
+ * dip below zero for a moment; it is never clamped, the pair always nets out,
+ * and reads report negatives as zero.
+ *
+ * A rebuild fills a new map and swaps it in under the write lock, the way
+ * MentorLoadIndex does; counter changes share the read lock. Callers that
+ * commit a change and then adjust a counter do both inside
+ * whileNotRebuilding, so the rebuild's query either sees the commit and the
+ * new map never gets the delta, or misses it and the delta lands after the swap.
+ */
+@Service
+public class UnreadCounterStore {
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    private volatile ConcurrentHashMap<Long, ConcurrentHashMap<Long, AtomicInteger>> countsByUser = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ConcurrentHashMap<Long, ConcurrentHashMap<Long, AtomicInteger>> rebuilt = new ConcurrentHashMap<>();
+            for (ChatRepository.UnreadAggregate row : chatRepository.countUnreadBySender()) {
+                Long recipientId = row.getSenderId().equals(row.getMentorId()) ? row.getMenteeId() : row.getMentorId();
+                rebuilt.computeIfAbsent(recipientId, id -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(row.getMentorshipId(), id -> new AtomicInteger())
+                    .addAndGet(row.getUnread().intValue());
+            }
+            countsByUser = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Runs a database change and the matching counter update with no rebuild in between
+    public <T> T whileNotRebuilding(Supplier<T> commitAndCount) {
+        lock.readLock().lock();
+        try {
+            return commitAndCount.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void increment(Long userId, Long mentorshipId) {
+        whileNotRebuilding(() -> countsByUser.computeIfAbsent(userId, id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(mentorshipId, id -> new AtomicInteger())
+            .incrementAndGet());
+    }
+
+    public void decrement(Long userId, Long mentorshipId, int count) {
+        if (count <= 0) return;
+        // Created if absent: the decrement may land before the increment it cancels
+        whileNotRebuilding(() -> countsByUser.computeIfAbsent(userId, id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(mentorshipId, id -> new AtomicInteger())
+            .addAndGet(-count));
+    }
+
+    // The mentorship changed hands: what the old participant had unread is now the new one's
+    public void transfer(Long fromUserId, Long toUserId, Long mentorshipId) {
+        whileNotRebuilding(() -> {
+            ConcurrentHashMap<Long, AtomicInteger> from = countsByUser.get(fromUserId);
+            AtomicInteger moved = from != null ? from.remove(mentorshipId) : null;
+            if (moved == null) return null;
+            return countsByUser.computeIfAbsent(toUserId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(mentorshipId, id -> new AtomicInteger())
+                .addAndGet(moved.get());
+        });
+    }
+
+    public int getUnreadCount(Long userId, Long mentorshipId) {
+        ConcurrentHashMap<Long, AtomicInteger> counts = countsByUser.get(userId);
+        AtomicInteger counter = counts != null ? counts.get(mentorshipId) : null;
+        return counter != null ? Math.max(0, counter.get()) : 0;
+    }
+
+    public Map<Long, Integer> getUnreadCounts(Long userId) {
+        Map<Long, Integer> result = new HashMap<>();
+        ConcurrentHashMap<Long, AtomicInteger> counts = countsByUser.get(userId);
+        if (counts != null) {
+            counts.forEach((mentorshipId, counter) -> {
+                int count = counter.get();
+                if (count > 0) result.put(mentorshipId, count);
+            });
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.entity.User;
+import com.alumniconnect.portal.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of User rows by id, plus an email to id mapping, both
+ * bounded by users.cache.max-size and expiring after users.cache.ttl.
+ *
+ * Cached instances are shared and must be treated as read-only: code that
+ * modifies a user loads it with UserService.getUserForUpdate and calls
+ * invalidate once the change is saved. Hit and miss counts are published as
+ * the cache.* meters tagged cache=users.byId / users.byEmail.
+ */
+@Service
+public class UserCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${users.cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${users.cache.ttl:10m}")
+    private Duration ttl;
+
+    private Cache<Long, User> byId;
+    private Cache<String, Long> idByEmail;
+
+    @PostConstruct
+    public void start() {
+        byId = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        idByEmail = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByEmail, "users.byEmail");
+    }
+
+    public Optional<User> findById(Long id) {
+        // Absent users are not cached; the loader returning null leaves no entry
+        return Optional.ofNullable(byId.get(id, key -> userRepository.findById(key).orElse(null)));
+    }
+
+    public Optional<User> findByEmail(String email) {
+        Long id = idByEmail.get(email, key -> userRepository.findByEmail(key).map(user -> {
+            byId.put(user.getId(), user);
+            return user.getId();
+        }).orElse(null));
+        if (id == null) {
+            return Optional.empty();
+        }
+        
+        Optional<User> user = findById(id);
+        // The mapping can outlive an email change when the old row was evicted first
+        if (user.isEmpty() || !email.equals(user.get().getEmail())) {
+            idByEmail.invalidate(email);
+            return userRepository.findByEmail(email);
+        }
+        return user;
+    }
+
+    public void invalidate(Long id) {
+        User cached = byId.getIfPresent(id);
+        if (cached != null) {
+            idByEmail.invalidate(cached.getEmail());
+        }
+        byId.invalidate(id);
+    }
+
+    public void invalidate(User user) {
+        invalidate(user.getId());
+        idByEmail.invalidate(user.getEmail());
+    }
+}
@@ -0,0 +1,59 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.dto.DirectoryCursor;
+import com.alumniconnect.portal.dto.DirectoryQuery;
+import com.alumniconnect.portal.dto.UserSummary;
+import com.alumniconnect.portal.repository.UserDirectoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The user directory: any combination of filters, keyset pages in a stable
+ * order, and a total that is counted once per filter combination and then
+ * served from cache for users.directory.count-ttl. The total is therefore
+ * an estimate that may trail recent sign-ups by up to that long.
+ */
+@Service
+public class UserDirectoryService {
+
+    @Autowired
+    private UserDirectoryRepository userDirectoryRepository;
+
+    @Value("${users.directory.count-ttl:60s}")
+    private Duration countTtl;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private Cache<DirectoryQuery, Long> counts;
+
+    @PostConstruct
+    public void start() {
+        counts = Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(countTtl).build();
+    }
+
+    // after is the opaque token returned with the previous page
+    public Map<String, Object> getPage(DirectoryQuery query, String after, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        DirectoryCursor cursor = after != null ? DirectoryCursor.decode(after, query) : null;
+        
+        List<UserSummary> rows = userDirectoryRepository.findPage(query, cursor, pageSize + 1); // one extra row tells us if there is more
+        boolean hasMore = rows.size() > pageSize;
+        List<UserSummary> users = hasMore ? rows.subList(0, pageSize) : rows;
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("users", users);
+        result.put("hasMore", hasMore);
+        result.put("after", hasMore ? DirectoryCursor.after(users.get(users.size() - 1), query).encode() : null);
+        result.put("totalEstimate", counts.get(query.countKey(), userDirectoryRepository::count));
+        return result;
+    }
+}
@@ -1,5 +1,6 @@
 package com.alumniconnect.portal.service;
 
+import com.alumniconnect.portal.dto.UserSummary;
 import com.alumniconnect.portal.entity.User;
 import com.alumniconnect.portal.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,6 +8,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,9 +17,24 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MentorLoadIndex mentorLoadIndex;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private AlumniDirectoryCache alumniDirectoryCache;
+
+    @Autowired
+    private NameSearchIndex nameSearchIndex;
+
+    @Autowired
+    private MentorRecommendationEngine recommendationEngine;
+
     public User createUser(User user) {
         // Check if email already exists
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
+        if (userCache.findByEmail(user.getEmail()).isPresent()) {
             throw new RuntimeException("Email already exists");
         }
         
@@ -32,11 +49,17 @@ public class UserService {
             user.setIsVerified(false);
         }
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        alumniDirectoryCache.invalidateIfAlumni(saved);
+        nameSearchIndex.upsert(saved);
+        if (saved.getRole() == User.Role.ALUMNI) {
+            recommendationEngine.markStale();
+        }
+        return saved;
     }
 
     public User authenticateUser(String email, String password) {
-        Optional<User> userOpt = userRepository.findByEmail(email);
+        Optional<User> userOpt = userCache.findByEmail(email);
         if (userOpt.isEmpty()) {
             throw new RuntimeException("User not found");
         }
@@ -50,29 +73,45 @@ public class UserService {
             throw new RuntimeException("Account is deactivated");
         }
         
-        // Update last login
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        // Single-column update; the cached instance is shared, so it is dropped rather than modified
+        userRepository.updateLastLogin(user.getId(), LocalDateTime.now());
+        userCache.invalidate(user);
         
-        return user;
+        return userCache.findById(user.getId()).orElse(user);
     }
 
+    // Shared cached instance: read-only, use getUserForUpdate to modify
     public User getUserById(Long id) {
-        return userRepository.findById(id)
+        return userCache.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
     public User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return userCache.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    // A fresh copy from the database that callers may modify and pass to updateUser
+    public User getUserForUpdate(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    public List<UserSummary> getAllUsers() {
+        return userRepository.findAllSummaries();
+    }
+
+    public List<UserSummary> getVerifiedAlumni() {
+        return userRepository.findSummariesByRoleAndIsVerified(User.Role.ALUMNI, true);
     }
 
-    public List<User> getVerifiedAlumni() {
-        return userRepository.findByRoleAndIsVerified(User.Role.ALUMNI, true);
+    public List<Map<String, Object>> searchByName(String query, User.Role role, int limit) {
+        return nameSearchIndex.search(query, role, limit);
+    }
+
+    // The same list as getVerifiedAlumni, pre-serialized
+    public AlumniDirectoryCache.Rendered getVerifiedAlumniJson() {
+        return alumniDirectoryCache.get();
     }
 
     public List<User> getStudents() {
@@ -81,37 +120,69 @@ public class UserService {
 
     public User updateUser(User user) {
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.invalidate(saved);
+        alumniDirectoryCache.invalidateIfAlumni(saved);
+        nameSearchIndex.upsert(saved);
+        if (saved.getRole() == User.Role.ALUMNI) {
+            recommendationEngine.markStale();
+        }
+        return saved;
     }
 
     public User verifyAlumni(Long userId) {
-        User user = getUserById(userId);
+        User user = getUserForUpdate(userId);
         if (user.getRole() != User.Role.ALUMNI) {
             throw new RuntimeException("User is not an alumni");
         }
         
         user.setIsVerified(true);
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.invalidate(saved);
+        alumniDirectoryCache.invalidate();
+        if (Boolean.TRUE.equals(saved.getIsActive())) {
+            mentorLoadIndex.registerMentor(saved.getId());
+        }
+        return saved;
     }
 
     public void deleteUser(Long userId) {
-        User user = getUserById(userId);
+        User user = getUserForUpdate(userId);
         userRepository.delete(user);
+        userCache.invalidate(user);
+        alumniDirectoryCache.invalidateIfAlumni(user);
+        nameSearchIndex.remove(userId);
+        mentorLoadIndex.removeMentor(userId);
     }
 
     public void deactivateUser(Long userId) {
-        User user = getUserById(userId);
+        User user = getUserForUpdate(userId);
         user.setIsActive(false);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        userCache.invalidate(user);
+        alumniDirectoryCache.invalidateIfAlumni(user);
+        if (user.getRole() == User.Role.ALUMNI) {
+            // Deactivated alumni take no new mentees
+            mentorLoadIndex.removeMentor(userId);
+            recommendationEngine.markStale();
+        }
     }
 
     public void activateUser(Long userId) {
-        User user = getUserById(userId);
+        User user = getUserForUpdate(userId);
         user.setIsActive(true);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        userCache.invalidate(user);
+        alumniDirectoryCache.invalidateIfAlumni(user);
+        if (user.getRole() == User.Role.ALUMNI) {
+            if (Boolean.TRUE.equals(user.getIsVerified())) {
+                mentorLoadIndex.registerMentor(userId);
+            }
+            recommendationEngine.markStale();
+        }
     }
 
     public long getTotalUsers() {
@@ -0,0 +1,34 @@
+package com.alumniconnect.portal.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for chat attachments (FILE and IMAGE messages).
+ * Implementations must consume uploads as a stream, never holding a whole
+ * file in memory.
+ */
+public interface AttachmentStorage {
+
+    // Streams the content into storage; returns the existing attachment when the same bytes were stored before
+    StoredAttachment store(InputStream content, String filename, String contentType) throws IOException;
+
+    Optional<StoredAttachment> find(String key);
+
+    SeekableByteChannel open(String key) throws IOException;
+
+    // The file holding the content, for backends on local disk; lets downloads use sendfile
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    static String keyFromUrl(String url) {
+        String prefix = "/api/attachments/";
+        if (url == null || !url.startsWith(prefix)) return null;
+        int query = url.indexOf('?');
+        return url.substring(prefix.length(), query >= 0 ? query : url.length());
+    }
+}
@@ -0,0 +1,154 @@
+package com.alumniconnect.portal.storage;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Attachments on the local filesystem under attachments.local.dir, laid out
+ * as ab/abcdef...bin with a .properties sidecar holding size and content
+ * type. Filenames are per upload and not stored, since every uploader of
+ * the same bytes shares the sidecar.
+ *
+ * Uploads are copied in 64 KB chunks to a temporary file while the SHA-256
+ * is computed, then moved into place, or discarded when that content is
+ * already stored.
+ */
+@Service
+@ConditionalOnProperty(name = "attachments.storage", havingValue = "local", matchIfMissing = true)
+public class LocalAttachmentStorage implements AttachmentStorage {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    @Value("${attachments.local.dir:data/attachments}")
+    private String storageDir;
+
+    @Value("${attachments.max-size-bytes:104857600}")
+    private long maxSizeBytes;
+
+    private Path root;
+    private Path incoming;
+
+    @PostConstruct
+    public void open() throws IOException {
+        root = Paths.get(storageDir).toAbsolutePath();
+        incoming = root.resolve("incoming");
+        Files.createDirectories(incoming);
+    }
+
+    @Override
+    public StoredAttachment store(InputStream content, String filename, String contentType) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            long size = 0;
+            try (InputStream in = new DigestInputStream(content, sha256);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[COPY_BUFFER_BYTES];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSizeBytes) {
+                        throw new RuntimeException("Attachment exceeds the maximum size of " + maxSizeBytes + " bytes");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (size == 0) {
+                throw new RuntimeException("Attachment is empty");
+            }
+            
+            String key = HexFormat.of().formatHex(sha256.digest());
+            Optional<StoredAttachment> existing = find(key);
+            if (existing.isPresent()) {
+                // The stored content type is what will be served; the filename is this uploader's own
+                return new StoredAttachment(key, size, existing.get().getContentType(), filename);
+            }
+            
+            StoredAttachment attachment = new StoredAttachment(key, size,
+                contentType != null ? contentType : "application/octet-stream", filename);
+            Path target = contentPath(key);
+            Files.createDirectories(target.getParent());
+            writeMetadata(attachment);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // A concurrent upload of the same bytes won
+            }
+            return attachment;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<StoredAttachment> find(String key) {
+        if (!isValidKey(key) || !Files.exists(contentPath(key))) {
+            return Optional.empty();
+        }
+        Properties metadata = new Properties();
+        try (InputStream in = Files.newInputStream(metadataPath(key))) {
+            metadata.load(in);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredAttachment(key, Long.parseLong(metadata.getProperty("size")),
+            metadata.getProperty("contentType"), null));
+    }
+
+    @Override
+    public SeekableByteChannel open(String key) throws IOException {
+        if (!isValidKey(key)) {
+            throw new NoSuchFileException(key);
+        }
+        return FileChannel.open(contentPath(key), StandardOpenOption.READ);
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return isValidKey(key) ? Optional.of(contentPath(key)) : Optional.empty();
+    }
+
+    private void writeMetadata(StoredAttachment attachment) throws IOException {
+        Properties metadata = new Properties();
+        metadata.setProperty("size", Long.toString(attachment.getSize()));
+        metadata.setProperty("contentType", attachment.getContentType());
+        Path temp = Files.createTempFile(incoming, "meta-", ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            metadata.store(out, null);
+        }
+        Files.move(temp, metadataPath(attachment.getKey()), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static boolean isValidKey(String key) {
+        return key != null && KEY.matcher(key).matches();
+    }
+
+    private Path contentPath(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key + ".bin");
+    }
+
+    private Path metadataPath(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key + ".properties");
+    }
+}
@@ -0,0 +1,34 @@
+package com.alumniconnect.portal.storage;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Metadata of a stored attachment. The key is the hex SHA-256 of the
+ * content, so identical uploads share one key and one copy on disk. The
+ * filename belongs to one upload, not to the shared content, so it travels
+ * in the URL rather than in storage.
+ */
+public class StoredAttachment {
+    private final String key;
+    private final long size;
+    private final String contentType;
+    private final String filename;
+
+    public StoredAttachment(String key, long size, String contentType, String filename) {
+        this.key = key;
+        this.size = size;
+        this.contentType = contentType;
+        this.filename = filename;
+    }
+
+    public String getUrl() {
+        String url = "/api/attachments/" + key;
+        return filename != null ? url + "?filename=" + URLEncoder.encode(filename, StandardCharsets.UTF_8) : url;
+    }
+
+    public String getKey() { return key; }
+    public long getSize() { return size; }
+    public String getContentType() { return contentType; }
+    public String getFilename() { return filename; }
+}
@@ -0,0 +1,278 @@
+package com.alumniconnect.portal.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Thumbnails for IMAGE attachments, generated with ImageIO and Java2D (no
+ * native libraries) on a small bounded pool.
+ *
+ * ChatService submits every new IMAGE message. Each source is decoded once
+ * and written in all SIZES. When the queue is full the work is dropped, and
+ * the first request for a missing thumbnail submits it again. Sources that
+ * cannot be thumbnailed (not a decodable image, or over max-source-pixels)
+ * are remembered in a bounded set and never resubmitted. Generated
+ * files live under attachments.thumbnails.dir, capped at
+ * attachments.thumbnails.max-disk-bytes, with least recently used files
+ * evicted first.
+ */
+@Service
+public class ThumbnailGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailGenerator.class);
+
+    private static final int MAX_UNSUPPORTED_KEYS = 10_000;
+
+    // Longest edge in pixels; chat history links the DEFAULT_SIZE variant
+    public static final int[] SIZES = {160, 320, 640};
+    public static final int DEFAULT_SIZE = 320;
+
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+
+    @Value("${attachments.thumbnails.dir:data/thumbnails}")
+    private String thumbnailDir;
+
+    @Value("${attachments.thumbnails.threads:2}")
+    private int threads;
+
+    @Value("${attachments.thumbnails.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${attachments.thumbnails.max-disk-bytes:1073741824}")
+    private long maxDiskBytes;
+
+    // Larger images are not decoded, so a small upload cannot expand into gigabytes of heap
+    @Value("${attachments.thumbnails.max-source-pixels:50000000}")
+    private long maxSourcePixels;
+
+    private Path root;
+    private ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Keys whose source could not be decoded, oldest dropped first
+    private final Set<String> unsupported = Collections.synchronizedSet(Collections.newSetFromMap(
+        new LinkedHashMap<>(256, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > MAX_UNSUPPORTED_KEYS;
+            }
+        }));
+
+    // Thumbnail name -> file, in access order for LRU eviction
+    private final LinkedHashMap<String, Path> cached = new LinkedHashMap<>(1024, 0.75f, true);
+    private long cachedBytes;
+
+    @PostConstruct
+    public void start() throws IOException {
+        root = Paths.get(thumbnailDir).toAbsolutePath();
+        Files.createDirectories(root);
+        
+        // Rebuild the LRU from disk, oldest first
+        List<Path> existing = new ArrayList<>();
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                if (path.getFileName().toString().endsWith(".tmp")) {
+                    Files.deleteIfExists(path); // left by a crash mid-write
+                } else if (Files.isRegularFile(path)) {
+                    existing.add(path);
+                }
+            }
+        }
+        existing.sort(Comparator.comparing(path -> path.toFile().lastModified()));
+        synchronized (cached) {
+            for (Path path : existing) {
+                String fileName = path.getFileName().toString();
+                cached.put(fileName.substring(0, fileName.lastIndexOf('.')), path);
+                cachedBytes += path.toFile().length();
+            }
+            evictOverCap();
+        }
+        
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "thumbnail-worker");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public static String previewUrl(String fileUrl) {
+        String key = AttachmentStorage.keyFromUrl(fileUrl);
+        return key != null ? "/api/attachments/" + key + "/thumbnail?size=" + DEFAULT_SIZE : null;
+    }
+
+    public static boolean isSupportedSize(int size) {
+        return Arrays.stream(SIZES).anyMatch(supported -> supported == size);
+    }
+
+    public void submit(String key) {
+        if (key == null || unsupported.contains(key) || !inFlight.add(key)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(key);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Failed to generate thumbnails for attachment {}", key, e);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Queue full: shed the work, a later request for the thumbnail retries
+            inFlight.remove(key);
+        }
+    }
+
+    // Empty until generated, and for good when the source cannot be thumbnailed; callers fall back to the original
+    public Optional<Path> find(String key, int size) {
+        Path path;
+        synchronized (cached) {
+            path = cached.get(name(key, size));
+        }
+        if (path != null && Files.exists(path)) {
+            return Optional.of(path);
+        }
+        submit(key);
+        return Optional.empty();
+    }
+
+    private void generate(String key) throws IOException {
+        BufferedImage source;
+        try {
+            source = decode(key);
+        } catch (UnsupportedImageException | IIOException | RuntimeException e) {
+            // Retrying would fail the same way, so no stack trace and no resubmission
+            log.info("Attachment {} cannot be thumbnailed: {}", key, e.getMessage());
+            unsupported.add(key);
+            return;
+        }
+        
+        boolean alpha = source.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+        for (int size : SIZES) {
+            writeThumbnail(key, size, scale(source, size, alpha), format);
+        }
+    }
+
+    private BufferedImage decode(String key) throws IOException {
+        try (InputStream in = Channels.newInputStream(attachmentStorage.open(key));
+             ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                throw new UnsupportedImageException("Not a supported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxSourcePixels) {
+                    throw new UnsupportedImageException("Image too large to thumbnail: " + pixels + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeThumbnail(String key, int size, BufferedImage thumbnail, String format) throws IOException {
+        Path target = root.resolve(name(key, size) + "." + format);
+        Path temp = Files.createTempFile(root, "thumb-", ".tmp");
+        try {
+            ImageIO.write(thumbnail, format, temp.toFile());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        synchronized (cached) {
+            Path previous = cached.put(name(key, size), target);
+            if (previous != null) {
+                cachedBytes -= previous.toFile().length();
+            }
+            cachedBytes += Files.size(target);
+            evictOverCap();
+        }
+    }
+
+    // Halves repeatedly before the final bilinear step; one big bilinear step aliases badly
+    private static BufferedImage scale(BufferedImage source, int maxEdge, boolean alpha) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+        
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+
+    // Caller holds the cached lock
+    private void evictOverCap() {
+        Iterator<Map.Entry<String, Path>> it = cached.entrySet().iterator();
+        while (cachedBytes > maxDiskBytes && it.hasNext()) {
+            Path eldest = it.next().getValue();
+            cachedBytes -= eldest.toFile().length();
+            it.remove();
+            try {
+                Files.deleteIfExists(eldest);
+            } catch (IOException e) {
+                log.warn("Failed to evict thumbnail {}", eldest, e);
+            }
+        }
+    }
+
+    private static String name(String key, int size) {
+        return key + "-" + size;
+    }
+
+    private static class UnsupportedImageException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedImageException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.alumniconnect.portal.archive;
+
+import com.alumniconnect.portal.entity.Chat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatSegmentStoreTest {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    private ChatSegmentStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new ChatSegmentStore();
+        ReflectionTestUtils.setField(store, "archiveDir", dir.toString());
+        store.open();
+    }
+
+    @Test
+    void readsBackEveryFieldOfAppendedBlocks() throws IOException {
+        ArchivedChat image = new ArchivedChat(3L, 8L, "caption é", Chat.MessageType.IMAGE,
+            "/api/attachments/abc", true, EPOCH.plusNanos(123_456_789));
+        store.append(1L, List.of(chat(1), chat(2)));
+        store.append(1L, List.of(image));
+
+        List<ArchivedChat> chats = store.read(1L);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(chats));
+        ArchivedChat read = chats.get(2);
+        assertEquals(8L, read.getSenderId());
+        assertEquals("caption é", read.getContent());
+        assertEquals(Chat.MessageType.IMAGE, read.getMessageType());
+        assertEquals("/api/attachments/abc", read.getFileUrl());
+        assertTrue(read.getIsRead());
+        assertEquals(image.getCreatedAt(), read.getCreatedAt());
+        assertTrue(store.hasArchive(1L));
+        assertFalse(store.hasArchive(2L));
+    }
+
+    @Test
+    void skipsTornTailAndTruncatesItOnNextAppend() throws IOException {
+        store.append(1L, range(1, 10));
+        store.append(1L, range(11, 20));
+        Path segment = dir.resolve("mentorship-1.seg");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        assertEquals(10, store.read(1L).size());
+
+        store.append(1L, range(11, 20));
+        store.append(1L, range(21, 30));
+        assertEquals(ids(range(1, 30)), ids(store.read(1L)));
+    }
+
+    @Test
+    void skipsGarbageTailAndTruncatesItOnNextAppend() throws IOException {
+        store.append(1L, range(1, 10));
+        byte[] garbage = new byte[200];
+        for (int i = 0; i < garbage.length; i++) garbage[i] = (byte) i;
+        Files.write(dir.resolve("mentorship-1.seg"), garbage, StandardOpenOption.APPEND);
+
+        assertEquals(10, store.read(1L).size());
+
+        store.append(1L, range(11, 12));
+        assertEquals(ids(range(1, 12)), ids(store.read(1L)));
+    }
+
+    @Test
+    void refusesToAppendToUnrecognizedFile() throws IOException {
+        Path segment = dir.resolve("mentorship-2.seg");
+        Files.write(segment, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> store.append(2L, range(1, 2)));
+        assertEquals(8, Files.size(segment));
+    }
+
+    @Test
+    void pagesAcrossBlocksInBothDirections() throws IOException {
+        store.append(1L, range(1, 10));
+        store.append(1L, range(11, 20));
+        store.append(1L, range(21, 30));
+
+        assertEquals(List.of(30L, 29L, 28L), ids(store.readPage(1L, null, null, false, 3)));
+        assertEquals(List.of(11L, 10L, 9L, 8L, 7L),
+            ids(store.readPage(1L, chat(12).getCreatedAt(), 12L, false, 5)));
+        assertEquals(List.of(9L, 10L, 11L, 12L, 13L),
+            ids(store.readPage(1L, chat(8).getCreatedAt(), 8L, true, 5)));
+        assertEquals(List.of(), ids(store.readPage(1L, chat(30).getCreatedAt(), 30L, true, 5)));
+    }
+
+    @Test
+    void findsSingleMessageById() throws IOException {
+        store.append(1L, range(1, 10));
+        store.append(1L, range(11, 20));
+
+        assertEquals("message 15", store.find(1L, 15L).orElseThrow().getContent());
+        assertTrue(store.find(1L, 99L).isEmpty());
+        assertTrue(store.find(2L, 1L).isEmpty());
+    }
+
+    private static ArchivedChat chat(long id) {
+        return new ArchivedChat(id, 7L, "message " + id, Chat.MessageType.TEXT, null, false, EPOCH.plusMinutes(id));
+    }
+
+    private static List<ArchivedChat> range(long from, long to) {
+        List<ArchivedChat> chats = new ArrayList<>();
+        for (long id = from; id <= to; id++) {
+            chats.add(chat(id));
+        }
+        return chats;
+    }
+
+    private static List<Long> ids(List<ArchivedChat> chats) {
+        List<Long> ids = new ArrayList<>();
+        for (ArchivedChat chat : chats) {
+            ids.add(chat.getId());
+        }
+        return ids;
+    }
+}
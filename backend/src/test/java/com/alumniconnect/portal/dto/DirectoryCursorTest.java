@@ -0,0 +1,103 @@
+package com.alumniconnect.portal.dto;
+
+import com.alumniconnect.portal.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectoryCursorTest {
+
+    @Test
+    void roundTripsEverySortOrder() {
+        UserSummary row = summary(42L, "Ann", "Lee", 2015, 7);
+        for (DirectoryQuery.Sort sort : DirectoryQuery.Sort.values()) {
+            for (boolean descending : new boolean[] {false, true}) {
+                DirectoryQuery query = query(sort, descending);
+                DirectoryCursor cursor = DirectoryCursor.after(row, query);
+
+                DirectoryCursor decoded = DirectoryCursor.decode(cursor.encode(), query);
+
+                assertEquals(cursor, decoded);
+                assertEquals(42L, decoded.values().get(decoded.values().size() - 1));
+            }
+        }
+    }
+
+    @Test
+    void keepsNullSortKeys() {
+        UserSummary row = summary(42L, "Ann", null, null, null);
+        for (DirectoryQuery.Sort sort : List.of(DirectoryQuery.Sort.NAME, DirectoryQuery.Sort.GRADUATION_YEAR,
+                DirectoryQuery.Sort.EXPERIENCE)) {
+            DirectoryQuery query = query(sort, true);
+
+            DirectoryCursor decoded = DirectoryCursor.decode(DirectoryCursor.after(row, query).encode(), query);
+
+            assertNull(decoded.values().get(0));
+            assertEquals(42L, decoded.values().get(decoded.values().size() - 1));
+        }
+        DirectoryQuery byName = query(DirectoryQuery.Sort.NAME, true);
+        assertEquals(Arrays.asList(null, "Ann", 42L),
+            DirectoryCursor.decode(DirectoryCursor.after(row, byName).encode(), byName).values());
+    }
+
+    @Test
+    void encodesAsUrlSafeTokenWithoutPadding() {
+        String token = DirectoryCursor.after(summary(42L, "Ann", null, null, null),
+            query(DirectoryQuery.Sort.NAME, true)).encode();
+
+        assertEquals("AQEBAAEAA0FubgEAAAAAAAAAKg", token);
+    }
+
+    @Test
+    void rejectsCursorIssuedForAnotherOrder() {
+        String token = DirectoryCursor.after(summary(42L, "Ann", "Lee", 2015, 7),
+            query(DirectoryQuery.Sort.NAME, false)).encode();
+
+        RuntimeException otherSort = assertThrows(RuntimeException.class,
+            () -> DirectoryCursor.decode(token, query(DirectoryQuery.Sort.EXPERIENCE, false)));
+        RuntimeException otherDirection = assertThrows(RuntimeException.class,
+            () -> DirectoryCursor.decode(token, query(DirectoryQuery.Sort.NAME, true)));
+        assertEquals("Cursor does not match the requested order", otherSort.getMessage());
+        assertEquals("Cursor does not match the requested order", otherDirection.getMessage());
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        DirectoryQuery query = query(DirectoryQuery.Sort.ID, false);
+        String valid = DirectoryCursor.after(summary(42L, "Ann", "Lee", 2015, 7), query).encode();
+        byte[] bytes = Base64.getUrlDecoder().decode(valid);
+
+        byte[] wrongVersion = bytes.clone();
+        wrongVersion[0] = 9;
+        byte[] unknownSort = bytes.clone();
+        unknownSort[1] = 99;
+        byte[] nullId = ByteBuffer.allocate(4).put((byte) 1).put((byte) 0).put((byte) 0).put((byte) 0).array();
+
+        for (String token : List.of("", "not a cursor!", valid.substring(0, valid.length() - 2), valid + "AA",
+                encode(wrongVersion), encode(unknownSort), encode(nullId))) {
+            RuntimeException e = assertThrows(RuntimeException.class, () -> DirectoryCursor.decode(token, query));
+            assertEquals("Invalid cursor", e.getMessage(), token);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static DirectoryQuery query(DirectoryQuery.Sort sort, boolean descending) {
+        return new DirectoryQuery(null, null, null, null, null, null, null, null, null, null, sort, descending);
+    }
+
+    private static UserSummary summary(Long id, String firstName, String lastName,
+                                       Integer graduationYear, Integer experience) {
+        return new UserSummary(id, firstName, lastName, "user" + id + "@example.com", User.Role.ALUMNI,
+            "State University", graduationYear, "CS", null, null, experience, null, null, null, null,
+            true, true, LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+}
@@ -0,0 +1,87 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.dto.UserSummary;
+import com.alumniconnect.portal.entity.User;
+import com.alumniconnect.portal.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AlumniDirectoryCacheTest {
+
+    private final AtomicInteger reads = new AtomicInteger();
+    private Runnable duringRead = () -> {};
+
+    private AlumniDirectoryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findSummariesByRoleAndIsVerified(any(), any())).thenAnswer(invocation -> {
+            reads.incrementAndGet();
+            duringRead.run();
+            return List.of(summary(reads.get()));
+        });
+        cache = new AlumniDirectoryCache();
+        ReflectionTestUtils.setField(cache, "userRepository", userRepository);
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void servesTheSameRenderingUntilInvalidated() {
+        AlumniDirectoryCache.Rendered first = cache.get();
+
+        assertSame(first, cache.get());
+        assertEquals(1, reads.get());
+        assertTrue(new String(first.json(), StandardCharsets.UTF_8).contains("\"firstName\":\"Alum1\""));
+
+        cache.invalidate();
+        AlumniDirectoryCache.Rendered second = cache.get();
+
+        assertEquals(2, reads.get());
+        assertNotEquals(first.etag(), second.etag());
+        assertTrue(new String(second.json(), StandardCharsets.UTF_8).contains("\"firstName\":\"Alum2\""));
+    }
+
+    @Test
+    void doesNotKeepABuildThatRacedAnInvalidation() {
+        duringRead = () -> cache.invalidate();
+
+        cache.get();
+        duringRead = () -> {};
+        cache.get();
+
+        assertEquals(2, reads.get());
+        assertSame(cache.get(), cache.get());
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void onlyAlumniChangesInvalidate() {
+        AlumniDirectoryCache.Rendered first = cache.get();
+        User student = new User();
+        student.setRole(User.Role.STUDENT);
+
+        cache.invalidateIfAlumni(student);
+
+        assertSame(first, cache.get());
+    }
+
+    private static UserSummary summary(long id) {
+        return new UserSummary(id, "Alum" + id, "Person", "alum" + id + "@example.com", User.Role.ALUMNI,
+            "State University", 2015, "CS", null, null, 5, null, null, null, null,
+            true, true, LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+}
@@ -0,0 +1,125 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.entity.Chat;
+import com.alumniconnect.portal.entity.User;
+import com.alumniconnect.portal.repository.ChatRepository;
+import com.alumniconnect.portal.repository.ConversationRepository;
+import com.alumniconnect.portal.repository.MentorshipRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChatWritePipelineTest {
+
+    private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+    private final List<Integer> savedBatchSizes = new CopyOnWriteArrayList<>();
+    private final List<String> committed = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private ChatWritePipeline pipeline;
+    private ExecutorService senders;
+
+    @BeforeEach
+    void setUp() {
+        ChatRepository chatRepository = mock(ChatRepository.class);
+        when(chatRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Chat> chats = invocation.getArgument(0);
+            savedBatchSizes.add(chats.size());
+            for (Chat chat : chats) {
+                if (rejected.contains(chat.getContent())) {
+                    throw new IllegalStateException("mentorship was deleted");
+                }
+                chat.setId(ids.incrementAndGet());
+            }
+            return chats;
+        });
+
+        pipeline = new ChatWritePipeline();
+        ReflectionTestUtils.setField(pipeline, "chatRepository", chatRepository);
+        ReflectionTestUtils.setField(pipeline, "mentorshipRepository", mock(MentorshipRepository.class));
+        ReflectionTestUtils.setField(pipeline, "conversationRepository", mock(ConversationRepository.class));
+        ReflectionTestUtils.setField(pipeline, "conversationService", new ConversationService());
+        ReflectionTestUtils.setField(pipeline, "unreadCounters", new UnreadCounterStore());
+        ReflectionTestUtils.setField(pipeline, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(pipeline, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(pipeline, "batchSize", 3);
+        // Long enough for all three senders to land in one batch
+        ReflectionTestUtils.setField(pipeline, "flushWindowMs", 2000L);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 100);
+        ReflectionTestUtils.setField(pipeline, "enqueueTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(pipeline, "commitTimeoutMs", 10000L);
+        pipeline.start();
+        senders = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        senders.shutdownNow();
+        pipeline.stop();
+    }
+
+    @Test
+    void failedBatchIsRetriedSoOnlyTheBadMessageFails() throws Exception {
+        rejected.add("bad");
+
+        Future<Chat> first = senders.submit(() -> send("first"));
+        Future<Chat> bad = senders.submit(() -> send("bad"));
+        Future<Chat> last = senders.submit(() -> send("last"));
+
+        assertEquals("first", first.get(10, TimeUnit.SECONDS).getContent());
+        assertEquals("last", last.get(10, TimeUnit.SECONDS).getContent());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> bad.get(10, TimeUnit.SECONDS));
+        assertEquals("Message could not be saved", failure.getCause().getMessage());
+
+        pipeline.stop(); // joins the flusher, so every afterCommit callback has run
+        assertEquals(List.of(3, 1, 1, 1), savedBatchSizes);
+        assertEquals(Set.of("first", "last"), Set.copyOf(committed));
+    }
+
+    @Test
+    void batchesConcurrentSendersIntoOneInsert() throws Exception {
+        List<Future<Chat>> sent = List.of(
+            senders.submit(() -> send("a")), senders.submit(() -> send("b")), senders.submit(() -> send("c")));
+
+        for (Future<Chat> chat : sent) {
+            assertNotNull(chat.get(10, TimeUnit.SECONDS).getId());
+        }
+        pipeline.stop();
+        assertEquals(List.of(3), savedBatchSizes);
+        assertEquals(Set.of("a", "b", "c"), Set.copyOf(committed));
+    }
+
+    @Test
+    void rejectsMissingContentBeforeQueueing() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> pipeline.submit(1L, sender(), 2L, null, Chat.MessageType.TEXT, null, chat -> {}));
+
+        assertEquals("Message content and type are required", e.getMessage());
+        assertTrue(savedBatchSizes.isEmpty());
+    }
+
+    private Chat send(String content) {
+        Consumer<Chat> afterCommit = chat -> committed.add(chat.getContent());
+        return pipeline.submit(1L, sender(), 2L, content, Chat.MessageType.TEXT, null, afterCommit);
+    }
+
+    private static User sender() {
+        User sender = new User();
+        sender.setId(7L);
+        return sender;
+    }
+}
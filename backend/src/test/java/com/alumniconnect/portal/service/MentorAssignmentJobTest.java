@@ -0,0 +1,173 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.entity.JobCheckpoint;
+import com.alumniconnect.portal.repository.JobCheckpointRepository;
+import com.alumniconnect.portal.repository.MentorshipRepository;
+import com.alumniconnect.portal.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MentorAssignmentJobTest {
+
+    private static final int REQUESTS = 7;
+
+    private final AtomicReference<JobCheckpoint> checkpoint = new AtomicReference<>();
+    private final AtomicInteger failChunksFrom = new AtomicInteger(Integer.MAX_VALUE);
+    private final List<Long> chunkStarts = new ArrayList<>();
+
+    private JdbcTemplate jdbcTemplate;
+    private MentorAssignmentJob job;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:assignment-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE mentorships (id BIGINT PRIMARY KEY, mentor_id BIGINT, mentee_id BIGINT, " +
+            "status VARCHAR(20), start_date TIMESTAMP, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE conversations (user_id BIGINT, mentorship_id BIGINT, counterpart_id BIGINT)");
+        for (long id = 1; id <= REQUESTS; id++) {
+            jdbcTemplate.update("INSERT INTO mentorships (id, mentor_id, mentee_id, status) VALUES (?, ?, ?, 'PENDING')",
+                id, 100 + id, 200 + id);
+        }
+
+        MentorshipRepository mentorshipRepository = mock(MentorshipRepository.class);
+        when(mentorshipRepository.findRequestsAfter(any(), any(), any())).thenAnswer(invocation -> {
+            Long afterId = invocation.getArgument(1);
+            Pageable page = invocation.getArgument(2);
+            chunkStarts.add(afterId);
+            if (chunkStarts.size() >= failChunksFrom.get()) {
+                throw new IllegalStateException("connection lost");
+            }
+            return jdbcTemplate.query("SELECT id, mentor_id, mentee_id FROM mentorships " +
+                    "WHERE status = 'PENDING' AND id > ? ORDER BY id LIMIT ?",
+                (rs, row) -> request(rs.getLong("id"), rs.getLong("mentor_id"), rs.getLong("mentee_id")),
+                afterId, page.getPageSize());
+        });
+        UserRepository userRepository = mock(UserRepository.class);
+        List<Long> mentorIds = new ArrayList<>();
+        for (long id = 1; id <= REQUESTS; id++) {
+            mentorIds.add(100 + id);
+        }
+        when(userRepository.findAvailableAlumniIds()).thenReturn(mentorIds);
+        JobCheckpointRepository checkpointRepository = mock(JobCheckpointRepository.class);
+        when(checkpointRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(checkpoint.get()));
+        when(checkpointRepository.save(any())).thenAnswer(invocation -> {
+            checkpoint.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        MentorLoadIndex mentorLoadIndex = new MentorLoadIndex();
+        ReflectionTestUtils.setField(mentorLoadIndex, "mentorshipRepository", mentorshipRepository);
+        ReflectionTestUtils.setField(mentorLoadIndex, "userRepository", userRepository);
+
+        job = new MentorAssignmentJob();
+        ReflectionTestUtils.setField(job, "mentorshipRepository", mentorshipRepository);
+        ReflectionTestUtils.setField(job, "userRepository", userRepository);
+        ReflectionTestUtils.setField(job, "checkpointRepository", checkpointRepository);
+        ReflectionTestUtils.setField(job, "mentorLoadIndex", mentorLoadIndex);
+        ReflectionTestUtils.setField(job, "conversationService", new ConversationService());
+        ReflectionTestUtils.setField(job, "unreadCounters", new UnreadCounterStore());
+        ReflectionTestUtils.setField(job, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(job, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(job, "chunkSize", 3);
+        ReflectionTestUtils.setField(job, "capacity", 3);
+    }
+
+    @Test
+    void resumesAfterTheLastCommittedChunk() throws InterruptedException {
+        failChunksFrom.set(2);
+        runToEnd(false);
+
+        assertEquals(JobCheckpoint.Status.FAILED, checkpoint.get().getStatus());
+        assertEquals("connection lost", checkpoint.get().getLastError());
+        assertEquals(3L, checkpoint.get().getLastProcessedId());
+        assertEquals(3, activeCount());
+
+        failChunksFrom.set(Integer.MAX_VALUE);
+        chunkStarts.clear();
+        runToEnd(false);
+
+        assertEquals(List.of(3L, 6L, 7L), chunkStarts);
+        assertEquals(JobCheckpoint.Status.COMPLETED, checkpoint.get().getStatus());
+        assertEquals(7L, checkpoint.get().getLastProcessedId());
+        assertEquals(7L, checkpoint.get().getProcessed());
+        assertEquals(7L, checkpoint.get().getSucceeded());
+        assertEquals(3, checkpoint.get().getChunks());
+        assertEquals(REQUESTS, activeCount());
+    }
+
+    @Test
+    void fromStartIgnoresAnUnfinishedCheckpoint() throws InterruptedException {
+        failChunksFrom.set(2);
+        runToEnd(false);
+        failChunksFrom.set(Integer.MAX_VALUE);
+        chunkStarts.clear();
+
+        runToEnd(true);
+
+        // Requests 1-3 are ACTIVE already, so the fresh run finds the rest from id 0
+        assertEquals(0L, chunkStarts.get(0));
+        assertEquals(JobCheckpoint.Status.COMPLETED, checkpoint.get().getStatus());
+        assertEquals(4L, checkpoint.get().getProcessed());
+        assertEquals(REQUESTS, activeCount());
+    }
+
+    @Test
+    void refusesASecondConcurrentRun() throws InterruptedException {
+        job.start(false);
+        try {
+            RuntimeException e = assertThrows(RuntimeException.class, () -> job.start(false));
+            assertEquals("Mentor assignment job already running", e.getMessage());
+        } finally {
+            awaitIdle();
+        }
+    }
+
+    private void runToEnd(boolean fromStart) throws InterruptedException {
+        job.start(fromStart);
+        awaitIdle();
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (Boolean.TRUE.equals(job.getProgress().get("running"))) {
+            assertTrue(System.currentTimeMillis() < deadline, "job did not finish");
+            Thread.sleep(10);
+        }
+    }
+
+    private int activeCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mentorships WHERE status = 'ACTIVE'", Integer.class);
+    }
+
+    private static MentorshipRepository.Request request(long id, long mentorId, long menteeId) {
+        return new MentorshipRepository.Request() {
+            @Override
+            public Long getId() { return id; }
+
+            @Override
+            public Long getMentorId() { return mentorId; }
+
+            @Override
+            public Long getMenteeId() { return menteeId; }
+        };
+    }
+}
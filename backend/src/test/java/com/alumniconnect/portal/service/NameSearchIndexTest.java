@@ -0,0 +1,95 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameSearchIndexTest {
+
+    private NameSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NameSearchIndex();
+        index.upsert(user(1, "John", "Smith", User.Role.ALUMNI));
+        index.upsert(user(2, "Joanna", "Smithers", User.Role.STUDENT));
+        index.upsert(user(3, "María", "García", User.Role.ALUMNI));
+        index.upsert(user(4, "Jonathan", "Smith-Jones", User.Role.ALUMNI));
+    }
+
+    @Test
+    void ranksPrefixMatchesAboveFuzzyOnes() {
+        // "jon" starts Jonathan but is only a typo away from John
+        assertEquals(List.of(4L, 1L), ids(index.search("jon smith", null, 10)).subList(0, 2));
+        assertEquals(Set.of(1L, 2L, 4L), new HashSet<>(ids(index.search("smi", null, 10))));
+    }
+
+    @Test
+    void toleratesTyposAndAccents() {
+        assertEquals(1L, ids(index.search("jhon smith", null, 10)).get(0));
+        assertEquals(List.of(3L), ids(index.search("maria garcia", null, 10)));
+        assertEquals(List.of(3L), ids(index.search("GARCÍA", null, 10)));
+    }
+
+    @Test
+    void filtersByRoleAndLimit() {
+        assertEquals(List.of(2L), ids(index.search("smith", User.Role.STUDENT, 10)));
+        assertEquals(1, index.search("smith", null, 1).size());
+        assertTrue(index.search("zzz qqq", null, 10).isEmpty());
+        assertTrue(index.search("  ", null, 10).isEmpty());
+    }
+
+    @Test
+    void upsertReplacesTheOldName() {
+        index.upsert(user(3, "Maria", "Lopez", User.Role.ALUMNI));
+
+        assertTrue(index.search("garcia", null, 10).isEmpty());
+        assertEquals(List.of(3L), ids(index.search("lopez", null, 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void compactsOnceAQuarterOfSlotsAreDead() {
+        for (long id = 100; id < 5100; id++) {
+            index.upsert(user(id, "Filler" + id, "Person", User.Role.STUDENT));
+        }
+        for (long id = 100; id < 4000; id++) {
+            index.remove(id);
+        }
+
+        int slotCount = (int) ReflectionTestUtils.getField(index, "slotCount");
+        int deadCount = (int) ReflectionTestUtils.getField(index, "deadCount");
+        assertTrue(deadCount * 4 <= slotCount || deadCount <= 1024, "dead slots were not compacted");
+        assertTrue(slotCount < 5104, "postings still hold every removed user");
+        assertEquals(1104, index.size());
+        assertEquals(List.of(3L), ids(index.search("garcia", null, 10)));
+        assertEquals(List.of(4500L), ids(index.search("filler4500 person", null, 1)));
+        assertFalse(ids(index.search("filler150 person", null, 50)).contains(150L));
+    }
+
+    private static User user(long id, String firstName, String lastName, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setRole(role);
+        return user;
+    }
+
+    private static List<Long> ids(List<Map<String, Object>> results) {
+        List<Long> ids = new ArrayList<>();
+        for (Map<String, Object> result : results) {
+            ids.add((Long) result.get("id"));
+        }
+        return ids;
+    }
+}
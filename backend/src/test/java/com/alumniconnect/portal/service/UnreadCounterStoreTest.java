@@ -0,0 +1,126 @@
+package com.alumniconnect.portal.service;
+
+import com.alumniconnect.portal.repository.ChatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UnreadCounterStoreTest {
+
+    private static final long MENTOR = 10L;
+    private static final long MENTEE = 20L;
+
+    // Unread rows as the database sees them; the rebuild reads this
+    private final List<ChatRepository.UnreadAggregate> unread = new CopyOnWriteArrayList<>();
+
+    private UnreadCounterStore store;
+
+    @BeforeEach
+    void setUp() {
+        ChatRepository chatRepository = mock(ChatRepository.class);
+        when(chatRepository.countUnreadBySender()).thenAnswer(invocation -> List.copyOf(unread));
+        store = new UnreadCounterStore();
+        ReflectionTestUtils.setField(store, "chatRepository", chatRepository);
+    }
+
+    @Test
+    void rebuildCountsEachMessageForItsRecipient() {
+        unread.add(aggregate(1L, MENTOR, 2));
+        unread.add(aggregate(1L, MENTEE, 5));
+
+        store.rebuild();
+
+        assertEquals(5, store.getUnreadCount(MENTOR, 1L));
+        assertEquals(2, store.getUnreadCount(MENTEE, 1L));
+        assertEquals(Map.of(1L, 5), store.getUnreadCounts(MENTOR));
+    }
+
+    @Test
+    void reportsATemporarilyNegativeCounterAsZero() {
+        store.decrement(MENTEE, 1L, 2);
+        assertEquals(0, store.getUnreadCount(MENTEE, 1L));
+        assertTrue(store.getUnreadCounts(MENTEE).isEmpty());
+
+        store.increment(MENTEE, 1L);
+        store.increment(MENTEE, 1L);
+        store.increment(MENTEE, 1L);
+        assertEquals(1, store.getUnreadCount(MENTEE, 1L));
+    }
+
+    @Test
+    void transferMovesTheCountToTheNewParticipant() {
+        store.increment(MENTOR, 1L);
+        store.increment(MENTOR, 1L);
+
+        store.transfer(MENTOR, 30L, 1L);
+
+        assertEquals(0, store.getUnreadCount(MENTOR, 1L));
+        assertEquals(2, store.getUnreadCount(30L, 1L));
+    }
+
+    @Test
+    void rebuildWaitsForACommitAndItsIncrement() throws InterruptedException {
+        unread.add(aggregate(1L, MENTOR, 1));
+        store.rebuild();
+
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread sender = new Thread(() -> store.whileNotRebuilding(() -> {
+            unread.add(aggregate(1L, MENTOR, 1)); // the commit
+            committed.countDown();
+            await(release);
+            store.increment(MENTEE, 1L);
+            return null;
+        }));
+        Thread rebuilder = new Thread(store::rebuild);
+        sender.start();
+        assertTrue(committed.await(5, TimeUnit.SECONDS));
+        rebuilder.start();
+        rebuilder.join(200);
+        assertTrue(rebuilder.isAlive(), "rebuild ran between the commit and its increment");
+
+        release.countDown();
+        sender.join(5000);
+        rebuilder.join(5000);
+
+        // Counted once: by the increment, or by the rebuild that replaced it, never both or neither
+        assertEquals(2, store.getUnreadCount(MENTEE, 1L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ChatRepository.UnreadAggregate aggregate(long mentorshipId, long senderId, long count) {
+        return new ChatRepository.UnreadAggregate() {
+            @Override
+            public Long getMentorshipId() { return mentorshipId; }
+
+            @Override
+            public Long getSenderId() { return senderId; }
+
+            @Override
+            public Long getMentorId() { return MENTOR; }
+
+            @Override
+            public Long getMenteeId() { return MENTEE; }
+
+            @Override
+            public Long getUnread() { return count; }
+        };
+    }
+}